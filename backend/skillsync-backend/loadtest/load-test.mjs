@@ -0,0 +1,106 @@
+// Closed-loop load test of the backend's read paths: each virtual user sends one request,
+// waits for the answer and sends the next, for a fixed duration. Needs Node 18+ and
+// nothing else. See README.md in this directory for how to run it and the last results.
+//
+//   node load-test.mjs [--url http://localhost:8081] [--users 50,200] [--duration 30]
+//                      [--warmup 10] [--postings 2000]
+
+const args = Object.fromEntries(process.argv.slice(2).reduce((pairs, arg, i, all) =>
+    arg.startsWith('--') ? [...pairs, [arg.slice(2), all[i + 1]]] : pairs, []));
+const baseUrl = args.url ?? 'http://localhost:8081';
+const userCounts = (args.users ?? '50,200').split(',').map(Number);
+const durationSeconds = Number(args.duration ?? 30);
+const warmupSeconds = Number(args.warmup ?? 10);
+const postingCount = Number(args.postings ?? 2000);
+
+const SKILLS = ['Java', 'Spring Boot', 'SQL', 'Python', 'React', 'Kubernetes', 'Docker', 'Go', 'Kafka', 'AWS'];
+const KEYWORDS = ['engineer', 'backend', 'platform', 'data', 'java', 'cloud'];
+const TITLES = ['Backend Engineer', 'Platform Engineer', 'Data Engineer', 'Frontend Developer', 'Cloud Architect'];
+
+async function call(path, { token, method = 'GET', body, contentType = 'application/json' } = {}) {
+    const headers = {};
+    if (token) headers.Authorization = `Bearer ${token}`;
+    if (body !== undefined) headers['Content-Type'] = contentType;
+    const response = await fetch(baseUrl + path, { method, headers, body });
+    const text = await response.text();
+    if (!response.ok) throw new Error(`${method} ${path}: ${response.status} ${text.slice(0, 200)}`);
+    return text;
+}
+
+async function account(role) {
+    const username = `load-${role.toLowerCase()}-${Date.now()}`;
+    const credentials = { username, password: 'load-test-password' };
+    await call('/api/auth/register', {
+        method: 'POST', body: JSON.stringify({ ...credentials, email: `${username}@example.com`, role }),
+    });
+    return JSON.parse(await call('/api/auth/login', { method: 'POST', body: JSON.stringify(credentials) })).token;
+}
+
+async function seed() {
+    const recruiter = await account('ROLE_RECRUITER');
+    const lines = [];
+    for (let i = 0; i < postingCount; i++) {
+        lines.push(JSON.stringify({
+            title: TITLES[i % TITLES.length],
+            company: `Company ${i % 97}`,
+            description: `${TITLES[i % TITLES.length]} working on ${SKILLS[i % SKILLS.length]} services in the cloud.`,
+            skills: [SKILLS[i % SKILLS.length], SKILLS[(i * 7 + 3) % SKILLS.length]],
+            url: `https://jobs.example.com/load-test/${i}`,
+            location: i % 2 ? 'Berlin' : 'Remote',
+            salary: 50000 + (i % 50) * 1000,
+        }));
+    }
+    const result = JSON.parse(await call('/api/jobs/import', {
+        token: recruiter, method: 'POST', body: lines.join('\n'), contentType: 'application/x-ndjson',
+    }));
+    // on a re-run the postings are already there, owned by the previous run's recruiter
+    console.log(`seeded: ${result.created} created, ${result.failed} already there`);
+    return account('ROLE_USER');
+}
+
+// the mix: keyword searches and browsing (served from memory), and profile reads (a database query each)
+function nextRequest(token, n) {
+    switch (n % 5) {
+        case 0:
+        case 1:
+            return call(`/api/jobs?keyword=${KEYWORDS[n % KEYWORDS.length]}&limit=20`);
+        case 2:
+            return call(`/api/jobs?location=Berlin&minSalary=60000&limit=20`);
+        default:
+            return call('/api/profile', { token });
+    }
+}
+
+async function run(token, users, seconds) {
+    const latencies = [];
+    let errors = 0;
+    let firstError;
+    const started = performance.now();
+    const deadline = started + seconds * 1000;
+    await Promise.all(Array.from({ length: users }, async (_, user) => {
+        for (let n = user; performance.now() < deadline; n += users) {
+            const sent = performance.now();
+            try {
+                await nextRequest(token, n);
+                latencies.push(performance.now() - sent);
+            } catch (e) {
+                errors++;
+                firstError ??= e.message;
+            }
+        }
+    }));
+    const elapsed = (performance.now() - started) / 1000;
+    latencies.sort((a, b) => a - b);
+    const at = q => latencies.length ? latencies[Math.min(latencies.length - 1, Math.floor(q * latencies.length))] : NaN;
+    return { users, requests: latencies.length, errors, firstError, throughput: latencies.length / elapsed,
+        p50: at(0.5), p99: at(0.99), max: latencies[latencies.length - 1] };
+}
+
+const token = await seed();
+for (const users of userCounts) {
+    await run(token, users, warmupSeconds);
+    const r = await run(token, users, durationSeconds);
+    console.log(`users=${r.users} requests=${r.requests} errors=${r.errors} throughput=${r.throughput.toFixed(0)}/s `
+        + `p50=${r.p50.toFixed(1)}ms p99=${r.p99.toFixed(1)}ms max=${r.max.toFixed(1)}ms`
+        + (r.firstError ? ` firstError="${r.firstError}"` : ''));
+}
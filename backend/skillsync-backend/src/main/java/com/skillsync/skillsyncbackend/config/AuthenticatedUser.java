@@ -0,0 +1,55 @@
+package com.skillsync.skillsyncbackend.config;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Principal of a JWT-authenticated request, built from the token claims so that
+ * identifying the caller needs no user lookup. Handlers can take it as a parameter
+ * (see {@link AuthenticatedUserArgumentResolver}).
+ */
+public class AuthenticatedUser implements AuthenticatedPrincipal {
+    private final Long id;
+    private final String username;
+    private final String role;
+
+    public AuthenticatedUser(Long id, String username, String role) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    /** e.g. ROLE_USER, ROLE_ADMIN, ROLE_RECRUITER */
+    public String getRole() {
+        return role;
+    }
+
+    public boolean isAdmin() {
+        return "ROLE_ADMIN".equals(role);
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role));
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[" + id + ", " + username + ", " + role + "]";
+    }
+}
@@ -0,0 +1,47 @@
+package com.skillsync.skillsyncbackend.config;
+
+import com.skillsync.skillsyncbackend.repository.UserRepository;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Lets handlers declare an {@link AuthenticatedUser} parameter for the caller. For JWT
+ * requests it is the principal the filter already built, so no lookup is needed; any
+ * other kind of authentication is resolved by username through the auth-state projection.
+ */
+public class AuthenticatedUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final UserRepository userRepository;
+
+    public AuthenticatedUserArgumentResolver(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return AuthenticatedUser.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public AuthenticatedUser resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                             NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            throw new AuthenticationCredentialsNotFoundException("Not authenticated");
+        }
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        return userRepository.findAuthStateByUsername(authentication.getName())
+                .map(state -> new AuthenticatedUser(state.getId(), state.getUsername(), state.getRole()))
+                .orElseThrow(() -> new AuthenticationCredentialsNotFoundException("Authenticated user not found"));
+    }
+}
@@ -0,0 +1,234 @@
+package com.skillsync.skillsyncbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Job boards crawled by {@link com.skillsync.skillsyncbackend.service.JobCrawler}, e.g.
+ * <pre>
+ * skillsync.crawler.enabled=true
+ * skillsync.crawler.sources[0].name=example
+ * skillsync.crawler.sources[0].url=https://jobs.example.com/openings
+ * skillsync.crawler.sources[0].item-selector=li.job
+ * skillsync.crawler.sources[0].next-page-selector=a[rel=next]
+ * skillsync.crawler.sources[0].selectors.title=h2
+ * skillsync.crawler.sources[0].selectors.company=.company
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "skillsync.crawler")
+public class CrawlerProperties {
+
+    /**
+     * Whether the scheduled crawl runs (every {@code skillsync.crawler.interval}); admins
+     * can still start one by hand.
+     */
+    private boolean enabled = false;
+    private Duration timeout = Duration.ofSeconds(20);
+    private String userAgent = "SkillSyncBot/1.0";
+    /** Requests in flight per host. */
+    private int perHostConcurrency = 2;
+    /** Minimum time between the starts of two requests to the same host. */
+    private Duration perHostInterval = Duration.ofMillis(500);
+    /** Pages larger than this are not read. */
+    private DataSize maxPageSize = DataSize.ofMegabytes(5);
+    private List<Source> sources = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public String getUserAgent() {
+        return userAgent;
+    }
+
+    public void setUserAgent(String userAgent) {
+        this.userAgent = userAgent;
+    }
+
+    public int getPerHostConcurrency() {
+        return perHostConcurrency;
+    }
+
+    public void setPerHostConcurrency(int perHostConcurrency) {
+        this.perHostConcurrency = perHostConcurrency;
+    }
+
+    public Duration getPerHostInterval() {
+        return perHostInterval;
+    }
+
+    public void setPerHostInterval(Duration perHostInterval) {
+        this.perHostInterval = perHostInterval;
+    }
+
+    public DataSize getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(DataSize maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+
+    public List<Source> getSources() {
+        return sources;
+    }
+
+    public void setSources(List<Source> sources) {
+        this.sources = sources;
+    }
+
+    /**
+     * One board: its first listing page, how to find the postings on a listing page and
+     * the next page, and where each field of a posting is. Only pages on the host of
+     * {@code url} are ever requested, including redirects. Field selectors are applied to
+     * the posting's element on the listing page, or to the posting's own page when
+     * {@code follow-links} is set.
+     */
+    public static class Source {
+        private String name;
+        private String url;
+        private String itemSelector;
+        private String linkSelector = "a[href]";
+        private String nextPageSelector;
+        private int maxPages = 50;
+        private boolean followLinks = false;
+        private Selectors selectors = new Selectors();
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getItemSelector() {
+            return itemSelector;
+        }
+
+        public void setItemSelector(String itemSelector) {
+            this.itemSelector = itemSelector;
+        }
+
+        public String getLinkSelector() {
+            return linkSelector;
+        }
+
+        public void setLinkSelector(String linkSelector) {
+            this.linkSelector = linkSelector;
+        }
+
+        public String getNextPageSelector() {
+            return nextPageSelector;
+        }
+
+        public void setNextPageSelector(String nextPageSelector) {
+            this.nextPageSelector = nextPageSelector;
+        }
+
+        public int getMaxPages() {
+            return maxPages;
+        }
+
+        public void setMaxPages(int maxPages) {
+            this.maxPages = maxPages;
+        }
+
+        public boolean isFollowLinks() {
+            return followLinks;
+        }
+
+        public void setFollowLinks(boolean followLinks) {
+            this.followLinks = followLinks;
+        }
+
+        public Selectors getSelectors() {
+            return selectors;
+        }
+
+        public void setSelectors(Selectors selectors) {
+            this.selectors = selectors;
+        }
+    }
+
+    public static class Selectors {
+        private String title;
+        private String company;
+        private String location;
+        private String jobType;
+        private String salary;
+        private String description;
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public String getCompany() {
+            return company;
+        }
+
+        public void setCompany(String company) {
+            this.company = company;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public void setLocation(String location) {
+            this.location = location;
+        }
+
+        public String getJobType() {
+            return jobType;
+        }
+
+        public void setJobType(String jobType) {
+            this.jobType = jobType;
+        }
+
+        public String getSalary() {
+            return salary;
+        }
+
+        public void setSalary(String salary) {
+            this.salary = salary;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+    }
+}
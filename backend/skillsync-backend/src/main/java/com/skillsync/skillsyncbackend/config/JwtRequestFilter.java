@@ -1,7 +1,10 @@
 package com.skillsync.skillsyncbackend.config;
 
-import com.skillsync.skillsyncbackend.service.UserService;
+import com.skillsync.skillsyncbackend.repository.UserRepository;
+import com.skillsync.skillsyncbackend.service.UserStateCache;
 import com.skillsync.skillsyncbackend.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,24 +13,32 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
+/**
+ * Authenticates requests carrying a bearer token. The token is verified once and the
+ * principal is built from its claims; the only user state still checked (existence and
+ * current role) comes from the {@link UserStateCache}, so steady-state requests run no
+ * SQL for authentication.
+ */
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtRequestFilter.class);
 
-    private final UserService userService;
     private final JwtUtil jwtUtil;
+    private final UserStateCache userStateCache;
+    private final UserRepository userRepository;
 
-    public JwtRequestFilter(UserService userService, JwtUtil jwtUtil) {
-        this.userService = userService;
+    public JwtRequestFilter(JwtUtil jwtUtil, UserStateCache userStateCache, UserRepository userRepository) {
         this.jwtUtil = jwtUtil;
+        this.userStateCache = userStateCache;
+        this.userRepository = userRepository;
     }
 
     @Override
@@ -35,35 +46,36 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         final String authorizationHeader = request.getHeader("Authorization");
-        logger.debug("Incoming Authorization header: {}", authorizationHeader);
 
-        String username = null;
-        String jwt = null;
-
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Claims claims = null;
             try {
-                username = jwtUtil.extractUsername(jwt);
-                logger.debug("Extracted username from token: {}", username);
-            } catch (Exception ex) {
-                // Log the exception message and stack trace
-                logger.warn("Failed to extract username from JWT: " + ex.getMessage(), ex);
+                claims = jwtUtil.parseToken(authorizationHeader.substring(7));
+            } catch (JwtException | IllegalArgumentException ex) {
+                logger.warn("Rejected JWT: {}", ex.getMessage());
             }
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-
-            UserDetails userDetails = this.userService.loadUserByUsername(username);
 
-            if (jwtUtil.isTokenValid(jwt, userDetails.getUsername())) {
-
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                usernamePasswordAuthenticationToken
-                        .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+            if (claims != null) {
+                currentState(claims).ifPresent(state -> {
+                    AuthenticatedUser principal = new AuthenticatedUser(state.getId(), state.getUsername(), state.getRole());
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            principal, null, principal.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                });
             }
         }
         chain.doFilter(request, response);
     }
+
+    private Optional<UserRepository.AuthState> currentState(Claims claims) {
+        Long userId = JwtUtil.extractUserId(claims);
+        if (userId == null) {
+            // token issued before the uid claim existed; these expire within a few hours
+            return userRepository.findAuthStateByUsername(claims.getSubject());
+        }
+        return userStateCache.get(userId)
+                .filter(state -> state.getUsername().equals(claims.getSubject()));
+    }
 }
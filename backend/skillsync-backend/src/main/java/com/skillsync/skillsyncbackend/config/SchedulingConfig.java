@@ -0,0 +1,14 @@
+package com.skillsync.skillsyncbackend.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background jobs. Each job checks its own switch, so they stay off unless configured.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(CrawlerProperties.class)
+public class SchedulingConfig {
+}
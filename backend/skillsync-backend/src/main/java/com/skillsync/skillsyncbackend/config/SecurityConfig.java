@@ -1,7 +1,9 @@
 package com.skillsync.skillsyncbackend.config;
 
-import com.skillsync.skillsyncbackend.service.UserService;
+import com.skillsync.skillsyncbackend.repository.UserRepository;
+import com.skillsync.skillsyncbackend.service.UserStateCache;
 import com.skillsync.skillsyncbackend.util.JwtUtil;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -32,8 +34,8 @@ public class SecurityConfig {
     }
 
     @Bean
-    public JwtRequestFilter jwtRequestFilter(UserService userService, JwtUtil jwtUtil) {
-        return new JwtRequestFilter(userService, jwtUtil);
+    public JwtRequestFilter jwtRequestFilter(JwtUtil jwtUtil, UserStateCache userStateCache, UserRepository userRepository) {
+        return new JwtRequestFilter(jwtUtil, userStateCache, userRepository);
     }
 
     @Bean
@@ -46,8 +48,11 @@ public class SecurityConfig {
         http
             .csrf(csrf -> csrf.disable()) // Disable CSRF explicitly
             .authorizeHttpRequests(auth -> auth
+                // async dispatches (streamed responses) were already authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/jobs").permitAll() // Allow unauthenticated access to GET /api/jobs
+                .requestMatchers(HttpMethod.GET, "/api/avatars/**").permitAll() // loaded by <img> tags, which send no token
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
@@ -64,6 +69,7 @@ public class SecurityConfig {
                         .allowedOrigins("http://localhost:5173", "http://localhost:5174", "http://localhost:3000")
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                         .allowedHeaders("Authorization", "Content-Type")
+                        .exposedHeaders("X-Total-Count")
                         .allowCredentials(true)
                         .maxAge(3600);
             }
@@ -0,0 +1,120 @@
+package com.skillsync.skillsyncbackend.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Connection setup for SQLite, which allows one writer at a time. The database runs in WAL
+ * mode so readers never block the writer or each other. Read-write transactions get the
+ * single connection of the writer pool, so our own writes queue for it (and, for small
+ * ones, in {@link com.skillsync.skillsyncbackend.service.WriteQueue}) instead of failing
+ * with SQLITE_BUSY. Read-only transactions, which include Spring Data's finders, and reads
+ * outside any transaction (lazy loading while rendering) use a pool of read-only connections.
+ */
+@Configuration
+@ConditionalOnExpression("'${spring.datasource.url:}'.startsWith('jdbc:sqlite:')")
+public class SqliteDataSourceConfig {
+
+    // SQLITE_OPEN_READONLY
+    private static final String OPEN_READ_ONLY = "1";
+
+    private final ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource();
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteWriter(DataSourceProperties properties,
+                                         @Value("${skillsync.sqlite.busy-timeout:5s}") Duration busyTimeout) {
+        HikariConfig config = baseConfig(properties, busyTimeout);
+        config.setPoolName("sqlite-writer");
+        config.setMaximumPoolSize(1);
+        config.addDataSourceProperty("journal_mode", "WAL");
+        // durable at checkpoints rather than on every commit; safe in WAL mode
+        config.addDataSourceProperty("synchronous", "NORMAL");
+        // take the write lock at BEGIN rather than upgrading a read transaction halfway
+        config.addDataSourceProperty("transaction_mode", "IMMEDIATE");
+        return new HikariDataSource(config);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteReaders(DataSourceProperties properties,
+                                          @Value("${skillsync.sqlite.busy-timeout:5s}") Duration busyTimeout,
+                                          @Value("${skillsync.sqlite.read-pool-size:8}") int readPoolSize,
+                                          @Qualifier("sqliteWriter") HikariDataSource writer) {
+        // depends on the writer so the database exists and is in WAL mode before readers open it
+        HikariConfig config = baseConfig(properties, busyTimeout);
+        config.setPoolName("sqlite-reader");
+        config.setMaximumPoolSize(readPoolSize);
+        config.addDataSourceProperty("open_mode", OPEN_READ_ONLY);
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("sqliteWriter") HikariDataSource writer,
+                                 @Qualifier("sqliteReaders") HikariDataSource readers) {
+        routingDataSource.setTargetDataSources(Map.of(Route.WRITE, writer, Route.READ, readers));
+        routingDataSource.afterPropertiesSet();
+        // the physical connection is picked on first use, once the transaction's read-only flag is known
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Hibernate holds a connection for the whole session by default, which with
+     * open-in-view is the whole request; release it after each transaction instead so
+     * every transaction is routed on its own.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqliteConnectionHandling() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void routeReadsToReaders() {
+        routingDataSource.started = true;
+    }
+
+    private static HikariConfig baseConfig(DataSourceProperties properties, Duration busyTimeout) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(properties.determineUrl());
+        config.setDriverClassName(properties.determineDriverClassName());
+        config.addDataSourceProperty("busy_timeout", String.valueOf(busyTimeout.toMillis()));
+        // lets Spring flag read-only transactions without sqlite-jdbc rejecting the change
+        config.addDataSourceProperty("jdbc.explicit_readonly", "true");
+        return config;
+    }
+
+    private enum Route {
+        WRITE, READ
+    }
+
+    private static class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+        // until startup is complete everything goes to the writer: schema updates run outside transactions
+        private volatile boolean started;
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            boolean write = !started || (TransactionSynchronizationManager.isActualTransactionActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            return write ? Route.WRITE : Route.READ;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.skillsync.skillsyncbackend.config;
+
+import com.skillsync.skillsyncbackend.repository.UserRepository;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final UserRepository userRepository;
+
+    public WebConfig(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new AuthenticatedUserArgumentResolver(userRepository));
+    }
+}
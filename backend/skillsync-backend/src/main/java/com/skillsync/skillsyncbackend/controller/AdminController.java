@@ -1,14 +1,25 @@
 package com.skillsync.skillsyncbackend.controller;
 
+import com.skillsync.skillsyncbackend.event.JobPostingChangedEvent;
 import com.skillsync.skillsyncbackend.model.JobPosting;
 import com.skillsync.skillsyncbackend.model.User;
 import com.skillsync.skillsyncbackend.repository.JobPostingRepository;
 import com.skillsync.skillsyncbackend.repository.UserRepository;
+import com.skillsync.skillsyncbackend.service.CatalogVersion;
+import com.skillsync.skillsyncbackend.service.ProfileVersions;
+import com.skillsync.skillsyncbackend.service.ResumeBulkImportService;
+import com.skillsync.skillsyncbackend.service.UserStateCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 import org.springframework.data.domain.PageRequest;
@@ -23,6 +34,21 @@ public class AdminController {
     @Autowired
     private JobPostingRepository jobPostingRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ResumeBulkImportService resumeBulkImportService;
+
+    @Autowired
+    private UserStateCache userStateCache;
+
+    @Autowired
+    private ProfileVersions profileVersions;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
     @GetMapping("/users")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> listUsers(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size) {
@@ -47,6 +73,8 @@ public class AdminController {
         if (role == null) return ResponseEntity.badRequest().body(Map.of("error", "role required"));
         u.setRole(role);
         userRepository.save(u);
+        userStateCache.invalidate(id);
+        profileVersions.bump(id);
         return ResponseEntity.ok(u);
     }
 
@@ -55,6 +83,8 @@ public class AdminController {
     public ResponseEntity<?> deleteUser(@PathVariable Long id) {
         if (!userRepository.existsById(id)) return ResponseEntity.notFound().build();
         userRepository.deleteById(id);
+        userStateCache.invalidate(id);
+        profileVersions.bump(id);
         return ResponseEntity.ok(Map.of("deleted", id));
     }
 
@@ -76,6 +106,41 @@ public class AdminController {
     public ResponseEntity<?> deleteJob(@PathVariable Long id) {
         if (!jobPostingRepository.existsById(id)) return ResponseEntity.notFound().build();
         jobPostingRepository.deleteById(id);
+        eventPublisher.publishEvent(JobPostingChangedEvent.deleted(id));
+        catalogVersion.bump();
         return ResponseEntity.ok(Map.of("deleted", id));
     }
+
+    /**
+     * Queues a zip archive of resumes for import. The archive is the raw request body
+     * rather than a multipart upload, so it is streamed to disk and only bounded by
+     * {@code skillsync.import.max-archive-size}, not by the multipart limits.
+     */
+    @PostMapping(value = "/resumes/import", consumes = "application/zip")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importResumes(InputStream body, @RequestParam(defaultValue = "archive.zip") String name)
+            throws IOException {
+        PushbackInputStream archive = new PushbackInputStream(body);
+        int first = archive.read();
+        if (first == -1) {
+            return ResponseEntity.badRequest().body(Map.of("error", "a .zip archive is required"));
+        }
+        archive.unread(first);
+        try {
+            var bulkImport = resumeBulkImportService.submit(archive, name);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/admin/resumes/import/" + bulkImport.getId()))
+                    .body(bulkImport);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/resumes/import/{importId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getResumeImport(@PathVariable String importId) {
+        return resumeBulkImportService.getImport(importId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
@@ -48,9 +48,9 @@ public class AuthController {
         new UsernamePasswordAuthenticationToken(username, password)
     );
     SecurityContextHolder.getContext().setAuthentication(authentication);
-    // Get user role
-    String role = userService.findByUsername(username).map(User::getRole).orElse("ROLE_USER");
-    String token = jwtUtil.generateToken(username, role);
+    User user = userService.findByUsername(username).orElseThrow();
+    String role = user.getRole();
+    String token = jwtUtil.generateToken(user.getId(), username, role);
     return ResponseEntity.ok(Map.of("token", token, "role", role));
     }
 }
@@ -0,0 +1,61 @@
+package com.skillsync.skillsyncbackend.controller;
+
+import com.skillsync.skillsyncbackend.service.AvatarService;
+import com.skillsync.skillsyncbackend.service.ContentStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Serves avatar images. The URL contains the image's hash, so the response for a URL never
+ * changes: clients may cache it indefinitely, and the hash is a strong ETag that can be
+ * answered with 304 without touching the database or the disk. Public, since image tags
+ * cannot send the bearer token; the URLs are only known to those shown the profile.
+ */
+@RestController
+@RequestMapping("/api/avatars")
+public class AvatarController {
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    @Autowired
+    private AvatarService avatarService;
+
+    @Autowired
+    private ContentStore contentStore;
+
+    @GetMapping("/{hash:[0-9a-f]{64}}")
+    public ResponseEntity<Resource> getAvatar(@PathVariable String hash,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws IOException {
+        String etag = "\"" + hash + "\"";
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(IMMUTABLE).build();
+        }
+        String contentType = avatarService.contentTypeOf(hash).orElse(null);
+        if (contentType == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(IMMUTABLE)
+                .contentType(MediaType.parseMediaType(contentType))
+                .contentLength(contentStore.sizeOf(hash))
+                .header("X-Content-Type-Options", "nosniff")
+                .body(new InputStreamResource(contentStore.open(hash)));
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(tag -> tag.equals(etag) || tag.equals("W/" + etag) || tag.equals("*"));
+    }
+}
@@ -1,18 +1,19 @@
 package com.skillsync.skillsyncbackend.controller;
 
+import com.skillsync.skillsyncbackend.config.AuthenticatedUser;
+import com.skillsync.skillsyncbackend.dto.JobSummary;
 import com.skillsync.skillsyncbackend.model.FavoriteJob;
-import com.skillsync.skillsyncbackend.model.JobPosting;
-import com.skillsync.skillsyncbackend.model.User;
 import com.skillsync.skillsyncbackend.repository.FavoriteJobRepository;
 import com.skillsync.skillsyncbackend.repository.JobPostingRepository;
 import com.skillsync.skillsyncbackend.repository.UserRepository;
+import com.skillsync.skillsyncbackend.service.WriteQueue;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/favorites")
@@ -27,34 +28,36 @@ public class FavoriteJobController {
     @Autowired
     private JobPostingRepository jobPostingRepository;
 
+    @Autowired
+    private WriteQueue writeQueue;
+
     @PostMapping("/toggle/{jobId}")
-    public ResponseEntity<?> toggleFavorite(@PathVariable Long jobId, Authentication authentication) {
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username).orElse(null);
-        if (user == null) return ResponseEntity.status(401).body("User not found");
-
-        JobPosting job = jobPostingRepository.findById(jobId).orElse(null);
-        if (job == null) return ResponseEntity.notFound().build();
-
-        var existing = favoriteJobRepository.findByUserAndJobPosting(user, job);
-        if (existing.isPresent()) {
-            favoriteJobRepository.delete(existing.get());
-            return ResponseEntity.ok().body(java.util.Map.of("favorite", false));
-        } else {
-            FavoriteJob fav = new FavoriteJob(user, job);
-            favoriteJobRepository.save(fav);
-            return ResponseEntity.ok().body(java.util.Map.of("favorite", true));
-        }
+    public ResponseEntity<?> toggleFavorite(@PathVariable Long jobId, AuthenticatedUser user) {
+        // null if there is no such job
+        Boolean favorite = writeQueue.execute(() -> {
+            var existing = favoriteJobRepository.findByUserIdAndJobPostingId(user.getId(), jobId);
+            if (existing.isPresent()) {
+                favoriteJobRepository.delete(existing.get());
+                return false;
+            }
+            if (!jobPostingRepository.existsById(jobId)) return null;
+            favoriteJobRepository.save(new FavoriteJob(userRepository.getReferenceById(user.getId()),
+                    jobPostingRepository.getReferenceById(jobId)));
+            return true;
+        });
+        if (favorite == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok().body(java.util.Map.of("favorite", favorite));
     }
 
     @GetMapping("")
-    public ResponseEntity<?> listFavorites(Authentication authentication) {
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username).orElse(null);
-        if (user == null) return ResponseEntity.status(401).body("User not found");
-
-        List<FavoriteJob> favs = favoriteJobRepository.findByUser(user);
-        var jobs = favs.stream().map(f -> f.getJobPosting()).collect(Collectors.toList());
-        return ResponseEntity.ok(jobs);
+    public ResponseEntity<List<JobSummary>> listFavorites(AuthenticatedUser user,
+                                                         @RequestParam(defaultValue = "0") int page,
+                                                         @RequestParam(defaultValue = "50") int size) {
+        PageRequest pageRequest = JobApplicationController.pageRequest(page, size);
+        if (pageRequest == null) return ResponseEntity.badRequest().build();
+        Page<JobSummary> favorites = favoriteJobRepository.findJobSummariesByUserId(user.getId(), pageRequest);
+        return ResponseEntity.ok()
+                .header(JobApplicationController.TOTAL_COUNT_HEADER, String.valueOf(favorites.getTotalElements()))
+                .body(favorites.getContent());
     }
 }
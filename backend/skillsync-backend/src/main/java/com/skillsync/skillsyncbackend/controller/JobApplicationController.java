@@ -1,60 +1,61 @@
 package com.skillsync.skillsyncbackend.controller;
 
+import com.skillsync.skillsyncbackend.config.AuthenticatedUser;
+import com.skillsync.skillsyncbackend.dto.ApplicantView;
 import com.skillsync.skillsyncbackend.model.JobApplication;
 import com.skillsync.skillsyncbackend.model.JobPosting;
-import com.skillsync.skillsyncbackend.model.User;
 import com.skillsync.skillsyncbackend.repository.JobApplicationRepository;
 import com.skillsync.skillsyncbackend.repository.JobPostingRepository;
 import com.skillsync.skillsyncbackend.repository.UserRepository;
+import com.skillsync.skillsyncbackend.service.WriteQueue;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
-import org.springframework.security.core.context.SecurityContextHolder; // Import for SecurityContextHolder
 
 @RestController
 @RequestMapping("/api/applications")
 public class JobApplicationController {
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private JobApplicationRepository jobApplicationRepository;
     @Autowired
     private UserRepository userRepository;
     @Autowired
     private JobPostingRepository jobPostingRepository;
+    @Autowired
+    private WriteQueue writeQueue;
 
     @PostMapping("/apply/{jobId}")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<?> applyToJob(@PathVariable Long jobId, Authentication authentication) {
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username).orElse(null);
-        JobPosting job = jobPostingRepository.findById(jobId).orElse(null);
-        if (user == null || job == null) return ResponseEntity.badRequest().build();
-        JobApplication app = new JobApplication(user, job, "APPLIED");
-        jobApplicationRepository.save(app);
+    public ResponseEntity<?> applyToJob(@PathVariable Long jobId, AuthenticatedUser user) {
+        if (!jobPostingRepository.existsById(jobId)) return ResponseEntity.badRequest().build();
+        writeQueue.execute(() -> jobApplicationRepository.save(new JobApplication(
+                userRepository.getReferenceById(user.getId()), jobPostingRepository.getReferenceById(jobId), "APPLIED")));
         return ResponseEntity.ok(Map.of("message", "Application submitted"));
     }
 
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<?> getMyApplications(Authentication authentication) {
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username).orElse(null);
-        if (user == null) return ResponseEntity.badRequest().build();
-        List<JobApplication> apps = jobApplicationRepository.findByUser(user);
-        return ResponseEntity.ok(apps);
+    public ResponseEntity<?> getMyApplications(AuthenticatedUser user,
+                                               @RequestParam(defaultValue = "0") int page,
+                                               @RequestParam(defaultValue = "50") int size) {
+        PageRequest pageRequest = pageRequest(page, size);
+        if (pageRequest == null) return ResponseEntity.badRequest().build();
+        return paged(jobApplicationRepository.findViewsByUserId(user.getId(), pageRequest));
     }
 
     @DeleteMapping("/{applicationId}")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<?> deleteApplication(@PathVariable Long applicationId, Authentication authentication) {
-        String username = authentication.getName();
-        User currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found"));
-
+    public ResponseEntity<?> deleteApplication(@PathVariable Long applicationId, AuthenticatedUser currentUser) {
         JobApplication application = jobApplicationRepository.findById(applicationId)
                 .orElseThrow(() -> new RuntimeException("Job application not found"));
 
@@ -63,26 +64,43 @@ public class JobApplicationController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build(); // Forbidden
         }
 
-        jobApplicationRepository.delete(application);
+        writeQueue.execute(() -> jobApplicationRepository.deleteById(applicationId));
         return ResponseEntity.ok(Map.of("message", "Application deleted successfully"));
     }
 
     @GetMapping("/job/{jobId}")
     @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
-    public ResponseEntity<List<JobApplication>> getApplicationsForJob(@PathVariable Long jobId, Authentication authentication) {
-        String currentUsername = authentication.getName();
-        User currentUser = userRepository.findByUsername(currentUsername)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
+    public ResponseEntity<List<ApplicantView>> getApplicationsForJob(@PathVariable Long jobId, AuthenticatedUser currentUser,
+                                                                     @RequestParam(defaultValue = "0") int page,
+                                                                     @RequestParam(defaultValue = "50") int size) {
+        PageRequest pageRequest = pageRequest(page, size);
+        if (pageRequest == null) return ResponseEntity.badRequest().build();
         JobPosting jobPosting = jobPostingRepository.findById(jobId)
                 .orElseThrow(() -> new RuntimeException("Job posting not found"));
 
         // Ensure the recruiter owns this job posting or is an admin
-        if (jobPosting.getRecruiterId() == null || (!jobPosting.getRecruiterId().equals(currentUser.getId()) && !authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")))) {
+        if (jobPosting.getRecruiterId() == null || (!jobPosting.getRecruiterId().equals(currentUser.getId()) && !currentUser.isAdmin())) {
             return ResponseEntity.status(403).build(); // Forbidden
         }
 
-        List<JobApplication> applications = jobApplicationRepository.findByJobPosting(jobPosting);
-        return ResponseEntity.ok(applications);
+        return paged(jobApplicationRepository.findApplicantViewsByJobPostingId(jobId, pageRequest));
+    }
+
+    /**
+     * The requested page, with the size capped at {@link #MAX_PAGE_SIZE}; null if the
+     * page is negative or the size is not positive.
+     */
+    static PageRequest pageRequest(int page, int size) {
+        if (page < 0 || size < 1) return null;
+        return PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Listings stay plain arrays; the total for paging through them goes in a header.
+     */
+    private static <T> ResponseEntity<List<T>> paged(Page<T> page) {
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(page.getTotalElements()))
+                .body(page.getContent());
     }
 }
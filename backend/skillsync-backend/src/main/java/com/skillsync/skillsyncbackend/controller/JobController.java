@@ -1,26 +1,43 @@
 
 package com.skillsync.skillsyncbackend.controller;
 
+import com.skillsync.skillsyncbackend.config.AuthenticatedUser;
+import com.skillsync.skillsyncbackend.event.JobPostingChangedEvent;
 import com.skillsync.skillsyncbackend.model.JobPosting;
 import com.skillsync.skillsyncbackend.model.Resume;
-import com.skillsync.skillsyncbackend.model.JobPosting;
-import com.skillsync.skillsyncbackend.model.User; // Import User model
 import com.skillsync.skillsyncbackend.repository.JobPostingRepository;
-import com.skillsync.skillsyncbackend.repository.UserRepository; // Import UserRepository
+import com.skillsync.skillsyncbackend.service.BatchMatchingService;
+import com.skillsync.skillsyncbackend.service.CatalogVersion;
+import com.skillsync.skillsyncbackend.service.JobFeedService;
+import com.skillsync.skillsyncbackend.service.JobImportService;
+import com.skillsync.skillsyncbackend.service.JobRecommendationService;
 import com.skillsync.skillsyncbackend.service.JobScrapingService;
+import com.skillsync.skillsyncbackend.service.JobSearchService;
 import com.skillsync.skillsyncbackend.service.ResumeService;
 import com.skillsync.skillsyncbackend.service.SkillMatchingService;
+import com.skillsync.skillsyncbackend.util.SkillVector;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication; // Import Authentication
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import org.springframework.http.HttpStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -36,36 +53,50 @@ public class JobController {
     @Autowired
     private ResumeService resumeService;
 
-    @Autowired // Added Autowired for jobScrapingService
+    @Autowired
     private JobScrapingService jobScrapingService;
 
+    @Autowired
+    private JobImportService jobImportService;
+
     @Autowired
     private SkillMatchingService skillMatchingService;
 
     @Autowired
     private JobPostingRepository jobPostingRepository;
+
+    @Autowired
+    private JobFeedService jobFeedService;
+
+    @Autowired
+    private BatchMatchingService batchMatchingService;
+
+    @Autowired
+    private JobSearchService jobSearchService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Autowired
-    private UserRepository userRepository; // Inject UserRepository
+    private CatalogVersion catalogVersion;
 
     // Recruiter endpoints: create, update, delete
     @PostMapping
     @PreAuthorize("hasRole('RECRUITER')")
-    public ResponseEntity<JobPosting> createJob(@RequestBody JobPosting job, Authentication authentication) {
-        String username = authentication.getName();
-        User currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found"));
+    public ResponseEntity<JobPosting> createJob(@RequestBody JobPosting job, AuthenticatedUser currentUser) {
         job.setRecruiterId(currentUser.getId()); // Set the recruiterId
         JobPosting saved = jobPostingRepository.save(job);
+        eventPublisher.publishEvent(JobPostingChangedEvent.saved(saved));
+        catalogVersion.bump();
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('RECRUITER')")
-    public ResponseEntity<JobPosting> updateJob(@PathVariable Long id, @RequestBody JobPosting updated, Authentication authentication) {
-        String username = authentication.getName();
-        User currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found"));
-
+    public ResponseEntity<JobPosting> updateJob(@PathVariable Long id, @RequestBody JobPosting updated, AuthenticatedUser currentUser) {
         var opt = jobPostingRepository.findById(id);
         if (opt.isEmpty()) return ResponseEntity.notFound().build();
         JobPosting existing = opt.get();
@@ -85,16 +116,14 @@ public class JobController {
         existing.setSalary(updated.getSalary());
         // recruiterId should not be changed during update
         jobPostingRepository.save(existing);
+        eventPublisher.publishEvent(JobPostingChangedEvent.saved(existing));
+        catalogVersion.bump();
         return ResponseEntity.ok(existing);
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('RECRUITER')")
-    public ResponseEntity<?> deleteJobById(@PathVariable Long id, Authentication authentication) {
-        String username = authentication.getName();
-        User currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found"));
-
+    public ResponseEntity<?> deleteJobById(@PathVariable Long id, AuthenticatedUser currentUser) {
         var opt = jobPostingRepository.findById(id);
         if (opt.isEmpty()) return ResponseEntity.notFound().build();
         JobPosting existing = opt.get();
@@ -105,37 +134,75 @@ public class JobController {
         }
 
         jobPostingRepository.deleteById(id);
+        eventPublisher.publishEvent(JobPostingChangedEvent.deleted(id));
+        catalogVersion.bump();
         return ResponseEntity.ok(Map.of("deleted", id));
     }
 
     @GetMapping
-    public ResponseEntity<List<JobPosting>> getJobs(
+    public ResponseEntity<JobSearchService.JobPage> getJobs(
             @RequestParam(value = "keyword", required = false) String keyword,
             @RequestParam(value = "location", required = false) String location,
             @RequestParam(value = "jobType", required = false) String jobType,
-            @RequestParam(value = "minSalary", required = false) Double minSalary
+            @RequestParam(value = "minSalary", required = false) Double minSalary,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            @RequestParam(value = "facets", defaultValue = "false") boolean facets,
+            WebRequest request
     ) {
+        // taken before searching, so the tag is never newer than the results
+        String etag = catalogVersion.etag();
+        if (request.checkNotModified(etag)) {
+            return null; // 304, headers already set
+        }
         logger.info("Received request for getJobs with filters: keyword={}, location={}, jobType={}, minSalary={}",
                 keyword, location, jobType, minSalary);
+        int pageSize = Math.min(Math.max(limit, 1), JobSearchService.MAX_PAGE_SIZE);
         try {
-            List<JobPosting> filteredJobs = jobPostingRepository.findByFilters(keyword, location, jobType, minSalary);
-            logger.info("Found {} job postings after filtering.", filteredJobs.size());
-            return ResponseEntity.ok(filteredJobs);
+            JobSearchService.JobPage page = jobSearchService.search(keyword, location, jobType, minSalary, cursor, pageSize, facets);
+            logger.info("Found {} job postings after filtering.", page.getContent().size());
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             logger.error("Error fetching job postings with filters: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
-    // This endpoint is for scraping and saving jobs, not for general listing.
-    // It should probably be moved to an Admin or dedicated scraping controller if not already.
-    // For now, keeping it as is, but noting its distinct purpose.
+    /**
+     * Imports postings from NDJSON, one per line, upserting them by URL. Recruiters own
+     * what they import and can only update their own postings; an admin's imports have
+     * no owner, like crawled ones.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<JobImportService.ImportResult> importJobs(InputStream body, AuthenticatedUser currentUser)
+            throws IOException {
+        Long recruiterId = currentUser.isAdmin() ? null : currentUser.getId();
+        return ResponseEntity.ok(jobImportService.importNdjson(body, recruiterId));
+    }
+
+    /**
+     * Starts crawling the configured job boards in the background; the outcome is
+     * available from {@code GET /api/jobs/fetch} once it is done.
+     */
     @PostMapping("/fetch")
-    @PreAuthorize("hasRole('ADMIN')") // Assuming only admin can trigger scraping
-    public ResponseEntity<List<JobPosting>> fetchJobs() {
-        // This method should ideally be in a service and called by an admin endpoint
-        // For now, it remains here as per existing structure.
-        return ResponseEntity.ok(jobScrapingService.fetchAndSaveJobPostings());
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, String>> fetchJobs() {
+        if (!jobScrapingService.startCrawl()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("status", "running"));
+        }
+        return ResponseEntity.accepted().body(Map.of("status", "started"));
+    }
+
+    @GetMapping("/fetch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getFetchStatus() {
+        String status = jobScrapingService.isRunning() ? "running" : "idle";
+        return jobScrapingService.getLastReport()
+                .map(report -> ResponseEntity.ok(Map.<String, Object>of("status", status, "lastCrawl", report)))
+                .orElseGet(() -> ResponseEntity.ok(Map.of("status", status)));
     }
 
     @GetMapping("/{jobId}/match/{resumeId}")
@@ -152,4 +219,90 @@ public class JobController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    @GetMapping("/recommendations/{resumeId}")
+    public ResponseEntity<List<JobRecommendationService.Recommendation>> getRecommendations(
+            @PathVariable Long resumeId,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return jobFeedService.feed(resumeId, limit)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Scores many resumes against one job. The body may list "resumeIds"; without it every
+     * applicant's resume is scored. Results are streamed as NDJSON, in completion order of
+     * chunks that are each ranked by weighted score; at most {@link BatchMatchingService#MAX_BATCH_SIZE} resumes per request.
+     */
+    @PostMapping(value = "/{jobId}/match", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<ResponseBodyEmitter> matchResumesForJob(@PathVariable Long jobId,
+                                                @RequestBody(required = false) Map<String, List<Long>> body,
+                                                AuthenticatedUser currentUser) {
+        List<Long> resumeIds = body != null ? body.get("resumeIds") : null;
+        if (resumeIds != null && resumeIds.size() > BatchMatchingService.MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        var opt = jobPostingRepository.findById(jobId);
+        if (opt.isEmpty()) return ResponseEntity.notFound().build();
+        if (!currentUser.isAdmin() && !currentUser.getId().equals(opt.get().getRecruiterId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        SkillVector jobSkills = batchMatchingService.loadJobSkills(List.of(jobId)).get(jobId);
+
+        Map<Long, SkillVector> resumes = resumeIds != null
+                ? batchMatchingService.loadResumeSkills(resumeIds)
+                : batchMatchingService.loadApplicantResumeSkills(jobId);
+        return streamScores(sink -> batchMatchingService.scoreResumes(jobId, jobSkills, resumes, sink));
+    }
+
+    /**
+     * Scores one resume against many jobs. The body may list "jobIds"; without it every posting
+     * matching the usual search filters is scored. Results are streamed as NDJSON, in completion
+     * order of chunks that are each ranked by weighted score.
+     */
+    @PostMapping(value = "/match/resume/{resumeId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> matchJobsForResume(@PathVariable Long resumeId,
+                                                @RequestBody(required = false) Map<String, List<Long>> body,
+                                                @RequestParam(value = "keyword", required = false) String keyword,
+                                                @RequestParam(value = "location", required = false) String location,
+                                                @RequestParam(value = "jobType", required = false) String jobType,
+                                                @RequestParam(value = "minSalary", required = false) Double minSalary) {
+        List<Long> jobIds = body != null ? body.get("jobIds") : null;
+        if (jobIds != null && jobIds.size() > BatchMatchingService.MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<Long, SkillVector> jobs = jobIds != null
+                ? batchMatchingService.loadJobSkills(jobIds)
+                : batchMatchingService.loadFilteredJobSkills(keyword, location, jobType, minSalary);
+        Map<Long, SkillVector> resume = batchMatchingService.loadResumeSkills(List.of(resumeId));
+        if (resume.isEmpty()) return ResponseEntity.notFound().build();
+        return streamScores(sink -> batchMatchingService.scoreJobs(resumeId, resume.get(resumeId), jobs, sink));
+    }
+
+    private ResponseEntity<ResponseBodyEmitter> streamScores(
+            Function<Consumer<List<BatchMatchingService.Score>>, CompletableFuture<Void>> scoring) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(60_000L);
+        scoring.apply(chunk -> {
+            StringBuilder lines = new StringBuilder();
+            try {
+                for (BatchMatchingService.Score score : chunk) {
+                    lines.append(objectMapper.writeValueAsString(score)).append('\n');
+                }
+                emitter.send(lines.toString(), MediaType.APPLICATION_NDJSON);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((ignored, error) -> {
+            if (error == null) {
+                emitter.complete();
+            } else {
+                logger.warn("Batch match stream aborted: {}", error.getMessage());
+                emitter.completeWithError(error);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
 }
@@ -1,16 +1,21 @@
 package com.skillsync.skillsyncbackend.controller;
 
+import com.skillsync.skillsyncbackend.config.AuthenticatedUser;
 import com.skillsync.skillsyncbackend.model.User;
 import com.skillsync.skillsyncbackend.repository.UserRepository;
+import com.skillsync.skillsyncbackend.service.AvatarService;
+import com.skillsync.skillsyncbackend.service.ProfileVersions;
+import com.skillsync.skillsyncbackend.service.WriteQueue;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.core.type.TypeReference;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,21 +39,26 @@ public class ProfileController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private WriteQueue writeQueue;
+
+    @Autowired
+    private AvatarService avatarService;
+
+    @Autowired
+    private ProfileVersions profileVersions;
+
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<?> getProfile(Authentication authentication) {
-        String username = authentication.getName();
-        logger.info("Attempting to fetch profile for user: {}", username);
-        // Extra debug logging to help diagnose forbidden issues
-        try {
-            Object principal = authentication.getPrincipal();
-            logger.debug("Authentication principal: {}", principal);
-        } catch (Exception ex) {
-            logger.debug("No authentication principal available: {}", ex.getMessage());
+    public ResponseEntity<?> getProfile(AuthenticatedUser currentUser, WebRequest request) {
+        String etag = profileVersions.etag(currentUser.getId());
+        if (request.checkNotModified(etag)) {
+            return null; // 304, headers already set
         }
-        User user = userRepository.findByUsername(username).orElse(null);
+        logger.info("Attempting to fetch profile for user: {}", currentUser.getUsername());
+        User user = userRepository.findById(currentUser.getId()).orElse(null);
         if (user == null) {
-            logger.error("User not found for username: {}", username);
+            logger.error("User not found for username: {}", currentUser.getUsername());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "User profile not found."));
         }
         // construct response with extended fields
@@ -61,7 +71,7 @@ public class ProfileController {
         resp.put("phone", user.getPhone());
         resp.put("bio", user.getBio());
         resp.put("linkedin", user.getLinkedin());
-        resp.put("avatarDataUrl", user.getAvatarDataUrl());
+        resp.put("avatarUrl", AvatarService.urlOf(user));
         resp.put("github", user.getGithub());
         resp.put("jobTitle", user.getJobTitle());
         resp.put("careerLevel", user.getCareerLevel());
@@ -77,16 +87,15 @@ public class ProfileController {
             logger.error("Error parsing JSON for user profile: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("message", "Error processing user profile data."));
         }
-        return ResponseEntity.ok(resp);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).body(resp);
     }
 
     @PutMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<?> updateProfile(Authentication authentication, @RequestBody Map<String, Object> req) {
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username).orElse(null);
+    public ResponseEntity<?> updateProfile(AuthenticatedUser currentUser, @RequestBody Map<String, Object> req) {
+        User user = userRepository.findById(currentUser.getId()).orElse(null);
         if (user == null) {
-            logger.error("User not found for username: {}", username);
+            logger.error("User not found for username: {}", currentUser.getUsername());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "User profile not found."));
         }
 
@@ -105,7 +114,7 @@ public class ProfileController {
             if (req.containsKey("phone")) user.setPhone((String) req.get("phone"));
             if (req.containsKey("bio")) user.setBio((String) req.get("bio"));
             if (req.containsKey("linkedin")) user.setLinkedin((String) req.get("linkedin"));
-            if (req.containsKey("avatarDataUrl")) user.setAvatarDataUrl((String) req.get("avatarDataUrl"));
+            if (req.containsKey("avatarDataUrl")) avatarService.setAvatar(user, (String) req.get("avatarDataUrl"));
             if (req.containsKey("github")) user.setGithub((String) req.get("github"));
             if (req.containsKey("jobTitle")) user.setJobTitle((String) req.get("jobTitle"));
             if (req.containsKey("careerLevel")) user.setCareerLevel((String) req.get("careerLevel"));
@@ -160,11 +169,14 @@ public class ProfileController {
                     user.setAchievementsJson(objectMapper.writeValueAsString(java.util.List.of()));
                 }
             }
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", ex.getMessage()));
         } catch (Exception ex) {
             logger.error("Failed to parse profile update payload: {}", ex.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Invalid profile payload"));
         }
-        userRepository.save(user);
+        writeQueue.execute(() -> userRepository.save(user));
+        profileVersions.bump(user.getId());
         // return updated profile
         return ResponseEntity.ok(Map.of(
             "id", user.getId(),
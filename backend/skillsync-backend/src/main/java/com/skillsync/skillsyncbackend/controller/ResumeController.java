@@ -1,46 +1,72 @@
 package com.skillsync.skillsyncbackend.controller;
 
+import com.skillsync.skillsyncbackend.config.AuthenticatedUser;
 import com.skillsync.skillsyncbackend.model.Resume;
-import com.skillsync.skillsyncbackend.model.User;
+import com.skillsync.skillsyncbackend.service.ResumeIngestionService;
 import com.skillsync.skillsyncbackend.service.ResumeService;
-import com.skillsync.skillsyncbackend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/resumes")
 public class ResumeController {
 
+    private static final int RETRY_AFTER_SECONDS = 5;
+
     @Autowired
     private ResumeService resumeService;
 
     @Autowired
-    private UserRepository userRepository;
+    private ResumeIngestionService resumeIngestionService;
 
     @PostMapping("/upload")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<Map<String, Object>> uploadResume(@RequestParam("file") MultipartFile file) throws IOException {
-        Resume resume = resumeService.uploadResume(file);
-        return ResponseEntity.ok(Map.of("id", resume.getId(), "skills", resume.getSkills()));
+    public ResponseEntity<Map<String, Object>> uploadResume(@RequestParam("file") MultipartFile file,
+                                                            AuthenticatedUser currentUser) throws IOException {
+        try {
+            ResumeIngestionService.Ingestion ingestion = resumeIngestionService.submit(currentUser.getId(), file);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/resumes/ingestions/" + ingestion.getId()))
+                    .body(Map.of("ingestionId", ingestion.getId(), "status", ingestion.getStatus()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("error", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS))
+                    .body(Map.of("error", "Too many resumes are being processed, please retry shortly."));
+        }
     }
 
-    @GetMapping("/my")
+    @GetMapping("/ingestions/{ingestionId}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<Resume> getMyResume() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUsername = authentication.getName();
-        User currentUser = userRepository.findByUsername(currentUsername)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public ResponseEntity<ResumeIngestionService.Ingestion> getIngestion(@PathVariable String ingestionId,
+                                                                         AuthenticatedUser currentUser) {
+        return resumeIngestionService.getIngestion(ingestionId)
+                .filter(ingestion -> currentUser.isAdmin() || currentUser.getId().equals(ingestion.getUserId()))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/ingestions/metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getIngestionMetrics() {
+        return ResponseEntity.ok(resumeIngestionService.getMetrics());
+    }
 
+    @GetMapping("/my")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<Resume> getMyResume(AuthenticatedUser currentUser) {
         return resumeService.getResumeByUserId(currentUser.getId())
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -0,0 +1,41 @@
+package com.skillsync.skillsyncbackend.dto;
+
+/**
+ * An application as the recruiter sees it: the applicant's public details and their latest
+ * resume, without the rest of the user row (password hash, avatar, profile sections).
+ */
+public class ApplicantView {
+    private final Long id;
+    private final String status;
+    private final Applicant user;
+
+    public ApplicantView(Long id, String status, Long userId, String username, String email, Long resumeId) {
+        this.id = id;
+        this.status = status;
+        this.user = new Applicant(userId, username, email, resumeId);
+    }
+
+    public Long getId() { return id; }
+    public String getStatus() { return status; }
+    public Applicant getUser() { return user; }
+
+    public static class Applicant {
+        private final Long id;
+        private final String username;
+        private final String email;
+        private final Long resumeId;
+
+        public Applicant(Long id, String username, String email, Long resumeId) {
+            this.id = id;
+            this.username = username;
+            this.email = email;
+            this.resumeId = resumeId;
+        }
+
+        public Long getId() { return id; }
+        public String getUsername() { return username; }
+        public String getEmail() { return email; }
+        /** The applicant's most recent resume, or null if they have none. */
+        public Long getResumeId() { return resumeId; }
+    }
+}
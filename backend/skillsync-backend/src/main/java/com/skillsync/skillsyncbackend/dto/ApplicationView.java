@@ -0,0 +1,21 @@
+package com.skillsync.skillsyncbackend.dto;
+
+/**
+ * An application as its applicant sees it: the status and a summary of the posting.
+ */
+public class ApplicationView {
+    private final Long id;
+    private final String status;
+    private final JobSummary jobPosting;
+
+    public ApplicationView(Long id, String status, Long jobId, String title, String company,
+                           String location, String jobType, Double salary) {
+        this.id = id;
+        this.status = status;
+        this.jobPosting = new JobSummary(jobId, title, company, location, jobType, salary);
+    }
+
+    public Long getId() { return id; }
+    public String getStatus() { return status; }
+    public JobSummary getJobPosting() { return jobPosting; }
+}
@@ -0,0 +1,29 @@
+package com.skillsync.skillsyncbackend.dto;
+
+/**
+ * The columns of a job posting that listings show; leaves out the description and skills.
+ */
+public class JobSummary {
+    private final Long id;
+    private final String title;
+    private final String company;
+    private final String location;
+    private final String jobType;
+    private final Double salary;
+
+    public JobSummary(Long id, String title, String company, String location, String jobType, Double salary) {
+        this.id = id;
+        this.title = title;
+        this.company = company;
+        this.location = location;
+        this.jobType = jobType;
+        this.salary = salary;
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getCompany() { return company; }
+    public String getLocation() { return location; }
+    public String getJobType() { return jobType; }
+    public Double getSalary() { return salary; }
+}
@@ -0,0 +1,43 @@
+package com.skillsync.skillsyncbackend.event;
+
+import com.skillsync.skillsyncbackend.model.JobPosting;
+
+/**
+ * Published after a job posting has been saved or deleted, so that in-memory
+ * views of the catalog (skill index, search index, ...) can update themselves
+ * incrementally instead of re-reading the whole table.
+ */
+public class JobPostingChangedEvent {
+
+    public enum Type { SAVED, DELETED }
+
+    private final Type type;
+    private final Long jobId;
+    private final JobPosting jobPosting; // null for DELETED
+
+    private JobPostingChangedEvent(Type type, Long jobId, JobPosting jobPosting) {
+        this.type = type;
+        this.jobId = jobId;
+        this.jobPosting = jobPosting;
+    }
+
+    public static JobPostingChangedEvent saved(JobPosting jobPosting) {
+        return new JobPostingChangedEvent(Type.SAVED, jobPosting.getId(), jobPosting);
+    }
+
+    public static JobPostingChangedEvent deleted(Long jobId) {
+        return new JobPostingChangedEvent(Type.DELETED, jobId, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public JobPosting getJobPosting() {
+        return jobPosting;
+    }
+}
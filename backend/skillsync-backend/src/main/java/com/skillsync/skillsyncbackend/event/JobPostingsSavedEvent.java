@@ -0,0 +1,23 @@
+package com.skillsync.skillsyncbackend.event;
+
+import com.skillsync.skillsyncbackend.model.JobPosting;
+
+import java.util.List;
+
+/**
+ * Published after a batch of job postings has been saved in one go (bulk imports,
+ * crawls). Means the same as one {@link JobPostingChangedEvent#saved} per posting, but
+ * lets the in-memory views apply the whole batch at once.
+ */
+public class JobPostingsSavedEvent {
+
+    private final List<JobPosting> jobPostings;
+
+    public JobPostingsSavedEvent(List<JobPosting> jobPostings) {
+        this.jobPostings = List.copyOf(jobPostings);
+    }
+
+    public List<JobPosting> getJobPostings() {
+        return jobPostings;
+    }
+}
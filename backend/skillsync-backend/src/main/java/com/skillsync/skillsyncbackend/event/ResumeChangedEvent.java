@@ -0,0 +1,35 @@
+package com.skillsync.skillsyncbackend.event;
+
+import com.skillsync.skillsyncbackend.model.Resume;
+
+import java.util.List;
+
+/**
+ * Published after a resume has been saved (an upload replacing a user's resume, or a
+ * bulk import), so that views derived from its skills can update just that resume.
+ */
+public class ResumeChangedEvent {
+
+    private final Long resumeId;
+    private final Long userId;
+    private final List<String> skills;
+
+    public ResumeChangedEvent(Resume resume) {
+        this.resumeId = resume.getId();
+        this.userId = resume.getUserId();
+        this.skills = resume.getSkills() == null ? List.of() : List.copyOf(resume.getSkills());
+    }
+
+    public Long getResumeId() {
+        return resumeId;
+    }
+
+    /** Null for resumes imported without a user. */
+    public Long getUserId() {
+        return userId;
+    }
+
+    public List<String> getSkills() {
+        return skills;
+    }
+}
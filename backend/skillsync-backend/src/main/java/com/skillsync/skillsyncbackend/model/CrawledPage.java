@@ -0,0 +1,89 @@
+package com.skillsync.skillsyncbackend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * What the crawler knows about a page it has processed: the validators to send with the
+ * next request (so an unchanged page comes back as 304) and the SHA-256 of its body (for
+ * servers that send no validators). Listing pages also remember their next page, which
+ * a 304 response does not tell us.
+ */
+@Entity
+@Table(name = "crawled_pages")
+public class CrawledPage {
+    @Id
+    @Column(length = 2048)
+    private String url;
+    private String etag;
+    private String lastModified;
+    @Column(length = 64)
+    private String contentHash;
+    @Column(length = 2048)
+    private String nextUrl;
+    private Instant fetchedAt;
+
+    public CrawledPage() {
+    }
+
+    public CrawledPage(String url, String etag, String lastModified, String contentHash, String nextUrl) {
+        this.url = url;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.contentHash = contentHash;
+        this.nextUrl = nextUrl;
+        this.fetchedAt = Instant.now();
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getNextUrl() {
+        return nextUrl;
+    }
+
+    public void setNextUrl(String nextUrl) {
+        this.nextUrl = nextUrl;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(Instant fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+}
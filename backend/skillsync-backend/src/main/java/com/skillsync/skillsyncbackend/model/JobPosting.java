@@ -2,20 +2,25 @@ package com.skillsync.skillsyncbackend.model;
 
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.BatchSize;
 import java.util.List;
 
 @Entity
+// crawled postings are upserted by url
+@Table(indexes = @Index(name = "idx_job_posting_url", columnList = "url"))
 public class JobPosting {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequentialId
     private Long id;
     private String title;
     private String company;
     private String description;
+    // listings initialize the skills of up to 100 postings per query instead of one each
     @ElementCollection
+    @BatchSize(size = 100)
     private List<String> skills;
     private String url;
     private String location;
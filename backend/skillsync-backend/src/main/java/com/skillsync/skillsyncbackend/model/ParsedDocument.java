@@ -0,0 +1,91 @@
+package com.skillsync.skillsyncbackend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Cached result of parsing an uploaded file, keyed by the SHA-256 of its bytes, so the
+ * same file is never parsed twice. Only an excerpt of the text is kept; {@code truncated}
+ * is set if the text was too long to be scanned for skills completely, and
+ * {@code dictionaryVersion} records which skill dictionary the skills were extracted with.
+ */
+@Entity
+@Table(name = "parsed_documents")
+public class ParsedDocument {
+    @Id
+    @Column(length = 64)
+    private String contentHash;
+    @Column(length = 100_000)
+    private String content;
+    @ElementCollection
+    private List<String> skills;
+    private boolean truncated;
+    private String dictionaryVersion;
+    private Instant parsedAt;
+
+    public ParsedDocument() {
+    }
+
+    public ParsedDocument(String contentHash, String content, List<String> skills, boolean truncated, String dictionaryVersion) {
+        this.contentHash = contentHash;
+        this.content = content;
+        this.skills = skills;
+        this.truncated = truncated;
+        this.dictionaryVersion = dictionaryVersion;
+        this.parsedAt = Instant.now();
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public List<String> getSkills() {
+        return skills;
+    }
+
+    public void setSkills(List<String> skills) {
+        this.skills = skills;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public String getDictionaryVersion() {
+        return dictionaryVersion;
+    }
+
+    public void setDictionaryVersion(String dictionaryVersion) {
+        this.dictionaryVersion = dictionaryVersion;
+    }
+
+    public Instant getParsedAt() {
+        return parsedAt;
+    }
+
+    public void setParsedAt(Instant parsedAt) {
+        this.parsedAt = parsedAt;
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import org.hibernate.annotations.BatchSize;
 import java.util.List;
 
 @Entity
@@ -14,7 +15,9 @@ public class Resume {
     private Long id;
     private String filename;
     private String content;
+    private String contentHash; // SHA-256 of the uploaded file in the ContentStore
     @ElementCollection
+    @BatchSize(size = 100)
     private List<String> skills;
     private Long userId; // Link to the User who uploaded the resume
     private Double atsScore; // ATS score for the resume
@@ -97,4 +100,12 @@ public class Resume {
     public void setRecruiterRating(Integer recruiterRating) {
         this.recruiterRating = recruiterRating;
     }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
 }
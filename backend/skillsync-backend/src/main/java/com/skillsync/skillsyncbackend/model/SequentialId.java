@@ -0,0 +1,19 @@
+package com.skillsync.skillsyncbackend.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Ids handed out in memory by {@link SequentialIdGenerator} rather than by the database,
+ * so Hibernate knows them before inserting and can batch the inserts (it cannot with
+ * {@code IDENTITY}).
+ */
+@IdGeneratorType(SequentialIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SequentialId {
+}
@@ -0,0 +1,53 @@
+package com.skillsync.skillsyncbackend.model;
+
+import org.hibernate.FlushMode;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out ids counting up from the highest one in the table. The table is looked at
+ * once, on the first id; after that an id is one atomic increment. Sound because this
+ * process is the database's only writer (and SQLite has no sequences to use instead;
+ * Hibernate's table-backed ones need a second connection, which the single-connection
+ * writer pool cannot give it).
+ */
+public class SequentialIdGenerator implements IdentifierGenerator {
+
+    private final AtomicLong next = new AtomicLong();
+    private final ReentrantLock seedLock = new ReentrantLock();
+    private volatile boolean seeded;
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object entity) {
+        if (!seeded) {
+            seed(session, entity);
+        }
+        return next.getAndIncrement();
+    }
+
+    private void seed(SharedSessionContractImplementor session, Object entity) {
+        seedLock.lock();
+        try {
+            if (!seeded) {
+                next.set(maxId(session, entity) + 1);
+                seeded = true;
+            }
+        } finally {
+            seedLock.unlock();
+        }
+    }
+
+    private static long maxId(SharedSessionContractImplementor session, Object entity) {
+        EntityPersister persister = session.getEntityPersister(null, entity);
+        Long max = session.createSelectionQuery("select max(e." + persister.getIdentifierPropertyName()
+                        + ") from " + persister.getEntityName() + " e", Long.class)
+                // ids are generated while flushing; flushing again from here would recurse
+                .setHibernateFlushMode(FlushMode.MANUAL)
+                .getSingleResult();
+        return max == null ? 0 : max;
+    }
+}
@@ -3,7 +3,7 @@ package com.skillsync.skillsyncbackend.model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_avatar_hash", columnList = "avatarHash"))
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,8 +24,10 @@ public class User {
     @Column(columnDefinition = "TEXT")
     private String bio;
     private String linkedin;
-    @Column(columnDefinition = "TEXT")
-    private String avatarDataUrl; // store data-url or small base64 string
+    // the image itself is in the ContentStore, under this hash
+    @Column(length = 64)
+    private String avatarHash;
+    private String avatarContentType;
 
     private String jobTitle;
     private String careerLevel;
@@ -77,8 +79,11 @@ public class User {
     public String getLinkedin() { return linkedin; }
     public void setLinkedin(String linkedin) { this.linkedin = linkedin; }
 
-    public String getAvatarDataUrl() { return avatarDataUrl; }
-    public void setAvatarDataUrl(String avatarDataUrl) { this.avatarDataUrl = avatarDataUrl; }
+    public String getAvatarHash() { return avatarHash; }
+    public void setAvatarHash(String avatarHash) { this.avatarHash = avatarHash; }
+
+    public String getAvatarContentType() { return avatarContentType; }
+    public void setAvatarContentType(String avatarContentType) { this.avatarContentType = avatarContentType; }
 
     public String getGithub() { return github; }
     public void setGithub(String github) { this.github = github; }
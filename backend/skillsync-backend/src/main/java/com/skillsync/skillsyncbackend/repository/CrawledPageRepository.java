@@ -0,0 +1,9 @@
+package com.skillsync.skillsyncbackend.repository;
+
+import com.skillsync.skillsyncbackend.model.CrawledPage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CrawledPageRepository extends JpaRepository<CrawledPage, String> {
+}
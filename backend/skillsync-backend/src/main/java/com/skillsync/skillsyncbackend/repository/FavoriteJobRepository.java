@@ -1,9 +1,14 @@
 package com.skillsync.skillsyncbackend.repository;
 
+import com.skillsync.skillsyncbackend.dto.JobSummary;
 import com.skillsync.skillsyncbackend.model.FavoriteJob;
 import com.skillsync.skillsyncbackend.model.User;
 import com.skillsync.skillsyncbackend.model.JobPosting;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,4 +16,10 @@ import java.util.Optional;
 public interface FavoriteJobRepository extends JpaRepository<FavoriteJob, Long> {
     List<FavoriteJob> findByUser(User user);
     Optional<FavoriteJob> findByUserAndJobPosting(User user, JobPosting jobPosting);
+    Optional<FavoriteJob> findByUserIdAndJobPostingId(Long userId, Long jobPostingId);
+
+    @Query(value = "SELECT new com.skillsync.skillsyncbackend.dto.JobSummary(j.id, j.title, j.company, " +
+            "j.location, j.jobType, j.salary) FROM FavoriteJob f JOIN f.jobPosting j WHERE f.user.id = :userId ORDER BY f.id",
+            countQuery = "SELECT COUNT(f) FROM FavoriteJob f WHERE f.user.id = :userId")
+    Page<JobSummary> findJobSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
 }
@@ -1,9 +1,14 @@
 package com.skillsync.skillsyncbackend.repository;
 
+import com.skillsync.skillsyncbackend.dto.ApplicantView;
+import com.skillsync.skillsyncbackend.dto.ApplicationView;
 import com.skillsync.skillsyncbackend.model.JobApplication;
 import com.skillsync.skillsyncbackend.model.User;
-import com.skillsync.skillsyncbackend.model.JobPosting;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,5 +16,20 @@ import java.util.List;
 @Repository
 public interface JobApplicationRepository extends JpaRepository<JobApplication, Long> {
     List<JobApplication> findByUser(User user);
-    List<JobApplication> findByJobPosting(JobPosting jobPosting);
+
+    // listings select only the columns they show, in one query per page
+    @Query(value = "SELECT new com.skillsync.skillsyncbackend.dto.ApplicationView(a.id, a.status, " +
+            "j.id, j.title, j.company, j.location, j.jobType, j.salary) " +
+            "FROM JobApplication a JOIN a.jobPosting j WHERE a.user.id = :userId ORDER BY a.id",
+            countQuery = "SELECT COUNT(a) FROM JobApplication a WHERE a.user.id = :userId")
+    Page<ApplicationView> findViewsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = "SELECT new com.skillsync.skillsyncbackend.dto.ApplicantView(a.id, a.status, " +
+            "u.id, u.username, u.email, (SELECT MAX(r.id) FROM Resume r WHERE r.userId = u.id)) " +
+            "FROM JobApplication a JOIN a.user u WHERE a.jobPosting.id = :jobId ORDER BY a.id",
+            countQuery = "SELECT COUNT(a) FROM JobApplication a WHERE a.jobPosting.id = :jobId")
+    Page<ApplicantView> findApplicantViewsByJobPostingId(@Param("jobId") Long jobId, Pageable pageable);
+
+    @Query("SELECT DISTINCT a.user.id FROM JobApplication a WHERE a.jobPosting.id = :jobId")
+    List<Long> findApplicantUserIdsByJobPostingId(@Param("jobId") Long jobId);
 }
\ No newline at end of file
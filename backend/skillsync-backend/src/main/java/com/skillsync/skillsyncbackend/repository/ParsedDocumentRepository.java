@@ -0,0 +1,16 @@
+package com.skillsync.skillsyncbackend.repository;
+
+import com.skillsync.skillsyncbackend.model.ParsedDocument;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ParsedDocumentRepository extends JpaRepository<ParsedDocument, String> {
+
+    @Query("SELECT d FROM ParsedDocument d LEFT JOIN FETCH d.skills WHERE d.contentHash = :hash")
+    Optional<ParsedDocument> findWithSkillsByContentHash(@Param("hash") String hash);
+}
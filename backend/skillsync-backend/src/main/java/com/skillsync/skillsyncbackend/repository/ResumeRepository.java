@@ -2,11 +2,21 @@ package com.skillsync.skillsyncbackend.repository;
 
 import com.skillsync.skillsyncbackend.model.Resume;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ResumeRepository extends JpaRepository<Resume, Long> {
     Optional<Resume> findByUserId(Long userId);
+
+    @Query("SELECT DISTINCT r FROM Resume r LEFT JOIN FETCH r.skills WHERE r.id IN :ids")
+    List<Resume> findAllWithSkillsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT r FROM Resume r LEFT JOIN FETCH r.skills WHERE r.userId IN :userIds")
+    List<Resume> findAllWithSkillsByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
@@ -2,8 +2,11 @@ package com.skillsync.skillsyncbackend.repository;
 
 import com.skillsync.skillsyncbackend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +15,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // only the columns authentication needs, not the profile TEXT columns
+    Optional<AuthState> findAuthStateById(Long id);
+    Optional<AuthState> findAuthStateByUsername(String username);
+
+    // one per user with this avatar; empty if the hash is not anyone's avatar
+    @Query("SELECT u.avatarContentType FROM User u WHERE u.avatarHash = :hash")
+    List<String> findAvatarContentTypes(@Param("hash") String hash);
+
+    interface AuthState {
+        Long getId();
+        String getUsername();
+        String getRole();
+    }
 }
@@ -0,0 +1,146 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.model.User;
+import com.skillsync.skillsyncbackend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps avatar images in the {@link ContentStore} rather than in the users table. Users
+ * only record the image's hash and type, and the image is served from its own URL,
+ * which never changes for the same bytes.
+ */
+@Service
+public class AvatarService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvatarService.class);
+
+    private static final Pattern DATA_URL = Pattern.compile("data:(image/(?:png|jpeg|gif|webp));base64,(.*)", Pattern.DOTALL);
+
+    private final ContentStore contentStore;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSize maxSize;
+
+    public AvatarService(ContentStore contentStore, UserRepository userRepository, JdbcTemplate jdbcTemplate,
+                         @Value("${skillsync.avatar.max-size:2MB}") DataSize maxSize) {
+        this.contentStore = contentStore;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Stores the image in a {@code data:image/...;base64,} URL as the user's avatar; a
+     * blank value removes it.
+     *
+     * @throws IllegalArgumentException if the value is not a base64 image data URL, the
+     *                                  bytes are not an image of the declared type, or the
+     *                                  image is larger than {@code skillsync.avatar.max-size}
+     */
+    public void setAvatar(User user, String dataUrl) throws IOException {
+        if (dataUrl == null || dataUrl.isBlank()) {
+            user.setAvatarHash(null);
+            user.setAvatarContentType(null);
+            return;
+        }
+        Matcher m = DATA_URL.matcher(dataUrl);
+        if (!m.matches()) {
+            throw new IllegalArgumentException("Avatar must be a base64 PNG, JPEG, GIF or WebP data URL");
+        }
+        // four characters per three bytes, plus the line breaks a MIME encoder adds every 76
+        long maxEncoded = (maxSize.toBytes() + 2) / 3 * 4;
+        if (m.end(2) - m.start(2) > maxEncoded + maxEncoded / 76 * 2 + 2) {
+            throw new IllegalArgumentException("Avatar is larger than " + maxSize);
+        }
+        byte[] image;
+        try {
+            image = Base64.getMimeDecoder().decode(m.group(2));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Avatar is not valid base64");
+        }
+        if (image.length > maxSize.toBytes()) {
+            throw new IllegalArgumentException("Avatar is larger than " + maxSize);
+        }
+        // the served Content-Type comes from here, so it has to be what the bytes are
+        if (!m.group(1).equals(imageTypeOf(image))) {
+            throw new IllegalArgumentException("Avatar is not a " + m.group(1) + " image");
+        }
+        user.setAvatarHash(contentStore.store(new ByteArrayInputStream(image)).getHash());
+        user.setAvatarContentType(m.group(1));
+    }
+
+    /** The image type the bytes start like, or null if they are none of the accepted ones. */
+    static String imageTypeOf(byte[] image) {
+        if (startsWith(image, 0, 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n')) return "image/png";
+        if (startsWith(image, 0, 0xff, 0xd8, 0xff)) return "image/jpeg";
+        if (startsWith(image, 0, 'G', 'I', 'F', '8', '7', 'a') || startsWith(image, 0, 'G', 'I', 'F', '8', '9', 'a')) {
+            return "image/gif";
+        }
+        if (startsWith(image, 0, 'R', 'I', 'F', 'F') && startsWith(image, 8, 'W', 'E', 'B', 'P')) return "image/webp";
+        return null;
+    }
+
+    private static boolean startsWith(byte[] bytes, int offset, int... magic) {
+        if (bytes.length < offset + magic.length) return false;
+        for (int i = 0; i < magic.length; i++) {
+            if ((bytes[offset + i] & 0xff) != magic[i]) return false;
+        }
+        return true;
+    }
+
+    /** Where the user's avatar is served, or null if they have none. */
+    public static String urlOf(User user) {
+        return user.getAvatarHash() != null ? "/api/avatars/" + user.getAvatarHash() : null;
+    }
+
+    /** The type of the avatar stored under the hash; empty if no user has it as their avatar. */
+    public Optional<String> contentTypeOf(String hash) {
+        List<String> types = userRepository.findAvatarContentTypes(hash);
+        return types.isEmpty() || !contentStore.contains(hash) ? Optional.empty() : Optional.ofNullable(types.get(0));
+    }
+
+    /**
+     * Moves avatars saved as data URLs in the old {@code users.avatar_data_url} column into
+     * the store. The column is left in place, emptied; databases created since don't have it.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void migrateDataUrlColumn() {
+        List<Map<String, Object>> rows;
+        try {
+            rows = jdbcTemplate.queryForList("SELECT id, avatar_data_url FROM users WHERE avatar_data_url IS NOT NULL");
+        } catch (DataAccessException e) {
+            return; // no such column
+        }
+        for (Map<String, Object> row : rows) {
+            Long id = ((Number) row.get("id")).longValue();
+            User user = new User();
+            try {
+                setAvatar(user, (String) row.get("avatar_data_url"));
+            } catch (IOException | IllegalArgumentException e) {
+                logger.warn("Dropping unreadable avatar of user {}: {}", id, e.getMessage());
+            }
+            jdbcTemplate.update("UPDATE users SET avatar_hash = ?, avatar_content_type = ?, avatar_data_url = NULL WHERE id = ?",
+                    user.getAvatarHash(), user.getAvatarContentType(), id);
+        }
+        if (!rows.isEmpty()) {
+            logger.info("Moved {} avatars out of the users table", rows.size());
+        }
+    }
+}
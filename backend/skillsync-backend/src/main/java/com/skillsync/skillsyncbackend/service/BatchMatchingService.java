@@ -0,0 +1,208 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import com.skillsync.skillsyncbackend.model.Resume;
+import com.skillsync.skillsyncbackend.repository.JobApplicationRepository;
+import com.skillsync.skillsyncbackend.repository.ResumeRepository;
+import com.skillsync.skillsyncbackend.util.NamedThreads;
+import com.skillsync.skillsyncbackend.util.SkillVector;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Scores one job against many resumes, or one resume against many jobs. Resumes are
+ * loaded in bulk (skills fetched in the same query) and encoded once, postings come
+ * already encoded from the {@link JobCatalog}; they are then scored
+ * in chunks on a CPU-sized pool; each chunk is handed to the caller as soon as it
+ * is done so results can be streamed back while the rest is still being computed.
+ */
+@Service
+public class BatchMatchingService {
+
+    public static final int MAX_BATCH_SIZE = 5000;
+    private static final int CHUNK_SIZE = 256;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private JobCatalog jobCatalog;
+
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+
+    @Autowired
+    private JobSearchService jobSearchService;
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    @Autowired
+    private SkillMatchingService skillMatchingService;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), NamedThreads.of("batch-match-"));
+
+    /**
+     * Skill vectors of the given resumes, keyed by resume ID in request order. Unknown IDs are skipped.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, SkillVector> loadResumeSkills(Collection<Long> resumeIds) {
+        if (resumeIds.isEmpty()) return Map.of();
+        Map<Long, SkillVector> byId = resumeRepository.findAllWithSkillsByIdIn(resumeIds).stream()
+                .collect(Collectors.toMap(Resume::getId, r -> skillDictionary.encode(r.getSkills())));
+        return inRequestOrder(resumeIds, byId);
+    }
+
+    /**
+     * Skill vectors of the resumes of everybody who applied to the job.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, SkillVector> loadApplicantResumeSkills(Long jobId) {
+        List<Long> userIds = jobApplicationRepository.findApplicantUserIdsByJobPostingId(jobId);
+        if (userIds.isEmpty()) return Map.of();
+        Map<Long, SkillVector> byId = new LinkedHashMap<>();
+        for (Resume resume : resumeRepository.findAllWithSkillsByUserIdIn(userIds)) {
+            byId.put(resume.getId(), skillDictionary.encode(resume.getSkills()));
+        }
+        return byId;
+    }
+
+    /**
+     * Skill vectors of the given postings, keyed by posting ID in request order. Unknown IDs are skipped.
+     */
+    public Map<Long, SkillVector> loadJobSkills(Collection<Long> jobIds) {
+        JobCatalog.Snapshot catalog = jobCatalog.snapshot();
+        Map<Long, SkillVector> ordered = new LinkedHashMap<>();
+        for (Long id : jobIds) {
+            JobCatalog.Entry entry = catalog.get(id);
+            if (entry != null) ordered.put(id, entry.getSkills());
+        }
+        return ordered;
+    }
+
+    /**
+     * Skill vectors of the postings matching the same filters as the job search
+     * (its first {@link #MAX_BATCH_SIZE} results).
+     */
+    public Map<Long, SkillVector> loadFilteredJobSkills(String keyword, String location, String jobType, Double minSalary) {
+        List<Long> ids = jobSearchService.search(keyword, location, jobType, minSalary, null, MAX_BATCH_SIZE).getContent().stream()
+                .map(JobPosting::getId)
+                .collect(Collectors.toList());
+        return loadJobSkills(ids);
+    }
+
+    /**
+     * Scores every resume against the job. {@code sink} is called once per finished chunk,
+     * best weighted score first, possibly from several threads at once.
+     */
+    public CompletableFuture<Void> scoreResumes(Long jobId, SkillVector jobSkills, Map<Long, SkillVector> resumes,
+                                                Consumer<List<Score>> sink) {
+        SkillWeights.Weights weights = skillMatchingService.currentWeights();
+        double jobNorm = weights.normOf(jobId, jobSkills);
+        return scoreInChunks(resumes, sink, (resumeId, resumeSkills) -> toScore(jobId, resumeId,
+                skillMatchingService.matchSkills(resumeSkills, jobSkills, weights, jobNorm)));
+    }
+
+    /**
+     * Scores the resume against every job. {@code sink} is called once per finished chunk,
+     * best weighted score first, possibly from several threads at once.
+     */
+    public CompletableFuture<Void> scoreJobs(Long resumeId, SkillVector resumeSkills, Map<Long, SkillVector> jobs,
+                                             Consumer<List<Score>> sink) {
+        SkillWeights.Weights weights = skillMatchingService.currentWeights();
+        return scoreInChunks(jobs, sink, (jobId, jobSkills) -> toScore(jobId, resumeId,
+                skillMatchingService.matchSkills(resumeSkills, jobSkills, weights, weights.normOf(jobId, jobSkills))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<Void> scoreInChunks(Map<Long, SkillVector> targets, Consumer<List<Score>> sink,
+                                                  BiFunction<Long, SkillVector, Score> scorer) {
+        List<Map.Entry<Long, SkillVector>> entries = new ArrayList<>(targets.entrySet());
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < entries.size(); from += CHUNK_SIZE) {
+            List<Map.Entry<Long, SkillVector>> chunk = entries.subList(from, Math.min(from + CHUNK_SIZE, entries.size()));
+            chunks.add(CompletableFuture.runAsync(() -> {
+                List<Score> scores = new ArrayList<>(chunk.size());
+                for (Map.Entry<Long, SkillVector> entry : chunk) {
+                    scores.add(scorer.apply(entry.getKey(), entry.getValue()));
+                }
+                scores.sort(Score.BEST_FIRST);
+                sink.accept(scores);
+            }, executor));
+        }
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]));
+    }
+
+    private static Score toScore(Long jobId, Long resumeId, SkillMatchingService.MatchResult match) {
+        return new Score(jobId, resumeId, match.getMatchPercentage(), match.getWeightedScore(), match.getMissingSkills());
+    }
+
+    private static Map<Long, SkillVector> inRequestOrder(Collection<Long> ids, Map<Long, SkillVector> byId) {
+        Map<Long, SkillVector> ordered = new LinkedHashMap<>();
+        for (Long id : ids) {
+            SkillVector vector = byId.get(id);
+            if (vector != null) ordered.put(id, vector);
+        }
+        return ordered;
+    }
+
+    public static class Score {
+        static final Comparator<Score> BEST_FIRST = Comparator.comparingDouble(Score::getWeightedScore)
+                .thenComparingDouble(Score::getMatchPercentage)
+                .reversed();
+
+        private final Long jobId;
+        private final Long resumeId;
+        private final double matchPercentage;
+        private final double weightedScore;
+        private final List<String> missingSkills;
+
+        public Score(Long jobId, Long resumeId, double matchPercentage, double weightedScore, List<String> missingSkills) {
+            this.jobId = jobId;
+            this.resumeId = resumeId;
+            this.matchPercentage = matchPercentage;
+            this.weightedScore = weightedScore;
+            this.missingSkills = missingSkills;
+        }
+
+        public Long getJobId() {
+            return jobId;
+        }
+
+        public Long getResumeId() {
+            return resumeId;
+        }
+
+        public double getMatchPercentage() {
+            return matchPercentage;
+        }
+
+        public double getWeightedScore() {
+            return weightedScore;
+        }
+
+        public List<String> getMissingSkills() {
+            return missingSkills;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.skillsync.skillsyncbackend.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generation counter of the job catalog, bumped after every change to the postings. Job
+ * listings use it as their ETag, so a client that already has the current generation is
+ * answered with 304 without searching or serializing anything.
+ */
+@Component
+public class CatalogVersion {
+
+    // tags from before a restart must not match, even though the counter starts over
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong generation = new AtomicLong();
+
+    /** Call once the change is visible to readers, so a tag is never newer than its data. */
+    public void bump() {
+        generation.incrementAndGet();
+    }
+
+    public String etag() {
+        return "\"jobs-" + epoch + "-" + generation.get() + "\"";
+    }
+}
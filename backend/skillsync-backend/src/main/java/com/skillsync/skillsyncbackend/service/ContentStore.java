@@ -0,0 +1,119 @@
+package com.skillsync.skillsyncbackend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Local file store that keeps each distinct file once, under the SHA-256 of its bytes
+ * ({@code <dir>/sha256/ab/cd/abcd...}). Storing the same bytes twice is a no-op, so
+ * the hash doubles as a cache key for anything derived from the file.
+ */
+@Component
+public class ContentStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path incoming;
+
+    public ContentStore(@Value("${skillsync.storage.dir:storage}") String directory) {
+        this.root = Paths.get(directory).toAbsolutePath().resolve("sha256");
+        this.incoming = Paths.get(directory).toAbsolutePath().resolve("incoming");
+        try {
+            Files.createDirectories(root);
+            Files.createDirectories(incoming);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create content store in " + directory, e);
+        }
+    }
+
+    /**
+     * Copies the stream into the store, hashing it on the way, and returns its hash.
+     */
+    public StoredContent store(InputStream in) throws IOException {
+        Path temp = Files.createTempFile(incoming, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (DigestInputStream hashing = new DigestInputStream(in, digest)) {
+                size = Files.copy(hashing, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(hash);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // stored concurrently by another upload of the same bytes
+                }
+            }
+            return new StoredContent(hash, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @throws NoSuchFileException if nothing is stored under the hash
+     */
+    public InputStream open(String hash) throws IOException {
+        return Files.newInputStream(pathOf(hash));
+    }
+
+    public boolean contains(String hash) {
+        return Files.exists(pathOf(hash));
+    }
+
+    public long sizeOf(String hash) throws IOException {
+        return Files.size(pathOf(hash));
+    }
+
+    private Path pathOf(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class StoredContent {
+        private final String hash;
+        private final long size;
+
+        public StoredContent(String hash, long size) {
+            this.hash = hash;
+            this.size = size;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+}
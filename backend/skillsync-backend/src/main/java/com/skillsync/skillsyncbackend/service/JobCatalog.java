@@ -0,0 +1,508 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.event.JobPostingChangedEvent;
+import com.skillsync.skillsyncbackend.event.JobPostingsSavedEvent;
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import com.skillsync.skillsyncbackend.repository.JobPostingRepository;
+import com.skillsync.skillsyncbackend.util.SkillVector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory copy of every job posting, so job listings never go to the database. Readers
+ * get an immutable {@link Snapshot} and filter it without any locking; each change builds
+ * a new snapshot from the previous one and swaps it in. Postings are small and rarely
+ * written, so copying on write is cheap next to the reads it saves.
+ * <p>
+ * Entries carry what the filters need already normalized (lower-cased location and job
+ * type) and the posting's skills interned as a {@link SkillVector}. Kept current through
+ * {@link JobPostingChangedEvent}s.
+ * <p>
+ * Snapshots also answer facet counts (location, job type, salary range) for a search,
+ * from one bitmap of entries per facet value intersected with the search's matches.
+ */
+@Component
+public class JobCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobCatalog.class);
+
+    public static final int MAX_FACET_VALUES = 20;
+    // lower bounds of the salary facet's ranges; the last one is open-ended
+    static final double[] SALARY_BUCKETS = {0, 50_000, 75_000, 100_000, 150_000};
+
+    private final JobPostingRepository jobPostingRepository;
+    private final SkillDictionary skillDictionary;
+
+    private volatile Snapshot snapshot = Snapshot.of(new Entry[0]);
+    // held only to swap snapshots, never across database reads
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // changes published while a rebuild reads the table, replayed onto what it read
+    private List<UnaryOperator<Snapshot>> missed;
+
+    public JobCatalog(JobPostingRepository jobPostingRepository, SkillDictionary skillDictionary) {
+        this.jobPostingRepository = jobPostingRepository;
+        this.skillDictionary = skillDictionary;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            setMissed(new ArrayList<>());
+            List<Entry> entries = new ArrayList<>();
+            try {
+                for (JobPosting posting : jobPostingRepository.findAll()) {
+                    entries.add(entryOf(posting));
+                }
+            } catch (RuntimeException e) {
+                setMissed(null);
+                throw e;
+            }
+            entries.sort(Comparator.comparing(Entry::getId));
+            Snapshot rebuilt = Snapshot.of(entries.toArray(new Entry[0]));
+            lock.lock();
+            try {
+                for (UnaryOperator<Snapshot> change : missed) {
+                    rebuilt = change.apply(rebuilt);
+                }
+                snapshot = rebuilt;
+                missed = null;
+            } finally {
+                lock.unlock();
+            }
+            logger.info("Loaded {} job postings into the catalog.", entries.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onJobPostingChanged(JobPostingChangedEvent event) {
+        Entry replacement = event.getType() == JobPostingChangedEvent.Type.SAVED ? entryOf(event.getJobPosting()) : null;
+        publish(current -> current.with(event.getJobId(), replacement));
+    }
+
+    @EventListener
+    public void onJobPostingsSaved(JobPostingsSavedEvent event) {
+        List<Entry> entries = new ArrayList<>(event.getJobPostings().size());
+        for (JobPosting posting : event.getJobPostings()) {
+            entries.add(entryOf(posting));
+        }
+        publish(current -> current.withAll(entries));
+    }
+
+    /** The current snapshot; it never changes, later writes only replace it. */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    private void publish(UnaryOperator<Snapshot> change) {
+        lock.lock();
+        try {
+            snapshot = change.apply(snapshot);
+            if (missed != null) {
+                missed.add(change);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void setMissed(List<UnaryOperator<Snapshot>> missed) {
+        lock.lock();
+        try {
+            this.missed = missed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry entryOf(JobPosting posting) {
+        List<String> skills = posting.getSkills() == null ? List.of() : List.copyOf(posting.getSkills());
+        // a private copy: the caller's entity may be changed or lazily loaded later
+        JobPosting copy = new JobPosting(posting.getTitle(), posting.getCompany(), posting.getDescription(), skills,
+                posting.getUrl(), posting.getLocation(), posting.getJobType(), posting.getSalary(), posting.getRecruiterId());
+        copy.setId(posting.getId());
+        return new Entry(copy, lower(posting.getLocation()), lower(posting.getJobType()), skillDictionary.encode(skills));
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The catalog at one point in time: entries in ID order, plus their positions by ID.
+     */
+    public static final class Snapshot {
+        private final Entry[] byId;
+        private final Map<Long, Integer> positions;
+        // built on the first facet request, so writes don't pay for it when nobody asks
+        private volatile FacetIndex facetIndex;
+
+        private Snapshot(Entry[] byId, Map<Long, Integer> positions) {
+            this.byId = byId;
+            this.positions = positions;
+        }
+
+        private static Snapshot of(Entry[] byId) {
+            Map<Long, Integer> positions = new HashMap<>(byId.length * 2);
+            for (int i = 0; i < byId.length; i++) {
+                positions.put(byId[i].getId(), i);
+            }
+            return new Snapshot(byId, positions);
+        }
+
+        /** A copy with the posting replaced, added, or (for a null entry) removed. */
+        private Snapshot with(Long id, Entry entry) {
+            int position = position(id);
+            boolean present = position >= 0;
+            int at = present ? position : -(position + 1);
+            Entry[] copy;
+            if (entry == null) {
+                if (!present) return this;
+                copy = new Entry[byId.length - 1];
+                System.arraycopy(byId, 0, copy, 0, at);
+                System.arraycopy(byId, at + 1, copy, at, byId.length - at - 1);
+            } else if (present) {
+                copy = byId.clone();
+                copy[at] = entry;
+            } else {
+                copy = new Entry[byId.length + 1];
+                System.arraycopy(byId, 0, copy, 0, at);
+                copy[at] = entry;
+                System.arraycopy(byId, at, copy, at + 1, byId.length - at);
+            }
+            return of(copy);
+        }
+
+        /** A copy with all the postings replaced or added, in one pass over the entries. */
+        private Snapshot withAll(List<Entry> entries) {
+            Entry[] copy = byId.clone();
+            Map<Long, Entry> added = new HashMap<>();
+            for (Entry entry : entries) {
+                Integer position = positions.get(entry.getId());
+                if (position != null) {
+                    copy[position] = entry;
+                } else {
+                    added.put(entry.getId(), entry);
+                }
+            }
+            if (added.isEmpty()) return of(copy);
+            Entry[] additions = added.values().toArray(new Entry[0]);
+            Arrays.sort(additions, Comparator.comparing(Entry::getId));
+            Entry[] merged = new Entry[copy.length + additions.length];
+            int i = 0, j = 0, k = 0;
+            while (i < copy.length || j < additions.length) {
+                boolean takeExisting = j == additions.length
+                        || i < copy.length && copy[i].getId() < additions[j].getId();
+                merged[k++] = takeExisting ? copy[i++] : additions[j++];
+            }
+            return of(merged);
+        }
+
+        public int size() {
+            return byId.length;
+        }
+
+        public Entry get(Long id) {
+            Integer position = positions.get(id);
+            return position == null ? null : byId[position];
+        }
+
+        /**
+         * Up to {@code limit} entries with an ID above {@code afterId} that match the filters, in ID order.
+         */
+        public List<Entry> page(long afterId, Filters filters, int limit) {
+            List<Entry> page = new ArrayList<>(Math.min(limit, byId.length));
+            int position = position(afterId);
+            for (int i = position >= 0 ? position + 1 : -(position + 1); i < byId.length && page.size() < limit; i++) {
+                if (filters.test(byId[i])) {
+                    page.add(byId[i]);
+                }
+            }
+            return page;
+        }
+
+        /**
+         * Facet counts over the entries that match the filters and, unless {@code matches} is
+         * null, have one of those IDs (the keyword hits). Each facet is counted without its
+         * own filter, so its counts say what picking another value of it would return.
+         */
+        public Facets facets(Collection<Long> matches, Filters filters) {
+            FacetIndex index = facetIndex;
+            if (index == null) {
+                facetIndex = index = new FacetIndex(byId);
+            }
+            BitSet matching = null;
+            if (matches != null) {
+                matching = new BitSet(byId.length);
+                for (Long id : matches) {
+                    Integer position = positions.get(id);
+                    if (position != null) matching.set(position);
+                }
+            }
+            BitSet location = filters.location == null ? null : index.locations.containing(filters.location);
+            BitSet jobType = filters.jobType == null ? null : index.jobTypes.containing(filters.jobType);
+            BitSet salary = filters.minSalary == null ? null : index.salaryAtLeast(filters.minSalary);
+            return new Facets(
+                    index.locations.count(intersect(matching, jobType, salary)),
+                    index.jobTypes.count(intersect(matching, location, salary)),
+                    index.salaryCounts(intersect(matching, location, jobType)));
+        }
+
+        /** Null stands for "every entry", both as an argument and as the result. */
+        private static BitSet intersect(BitSet... sets) {
+            BitSet result = null;
+            for (BitSet set : sets) {
+                if (set == null) continue;
+                if (result == null) {
+                    result = (BitSet) set.clone();
+                } else {
+                    result.and(set);
+                }
+            }
+            return result;
+        }
+
+        private int position(long id) {
+            int low = 0;
+            int high = byId.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midId = byId[mid].getId();
+                if (midId < id) low = mid + 1;
+                else if (midId > id) high = mid - 1;
+                else return mid;
+            }
+            return -(low + 1);
+        }
+    }
+
+    public static final class Entry {
+        private final JobPosting posting;
+        private final String location;
+        private final String jobType;
+        private final SkillVector skills;
+
+        private Entry(JobPosting posting, String location, String jobType, SkillVector skills) {
+            this.posting = posting;
+            this.location = location;
+            this.jobType = jobType;
+            this.skills = skills;
+        }
+
+        public Long getId() {
+            return posting.getId();
+        }
+
+        /** Shared by every reader of the snapshot; must not be modified. */
+        public JobPosting getPosting() {
+            return posting;
+        }
+
+        public SkillVector getSkills() {
+            return skills;
+        }
+    }
+
+    /**
+     * The non-keyword filters of the job search. Location and job type match as
+     * case-insensitive substrings; postings without a salary never pass a minimum salary.
+     */
+    public static final class Filters {
+        private final String location;
+        private final String jobType;
+        private final Double minSalary;
+
+        public Filters(String location, String jobType, Double minSalary) {
+            this.location = lower(location);
+            this.jobType = lower(jobType);
+            this.minSalary = minSalary;
+        }
+
+        public boolean test(Entry entry) {
+            if (location != null && (entry.location == null || !entry.location.contains(location))) return false;
+            if (jobType != null && (entry.jobType == null || !entry.jobType.contains(jobType))) return false;
+            Double salary = entry.posting.getSalary();
+            return minSalary == null || (salary != null && salary >= minSalary);
+        }
+    }
+
+    /**
+     * Bitmaps of snapshot positions: one per distinct location and job type (compared
+     * lower-cased, labelled with the first spelling seen) and one per salary range.
+     */
+    private static final class FacetIndex {
+        private final ValueBitmaps locations = new ValueBitmaps();
+        private final ValueBitmaps jobTypes = new ValueBitmaps();
+        private final double[] salaries;
+        private final BitSet[] salaryRanges = new BitSet[SALARY_BUCKETS.length];
+
+        FacetIndex(Entry[] entries) {
+            salaries = new double[entries.length];
+            for (int i = 0; i < salaryRanges.length; i++) {
+                salaryRanges[i] = new BitSet(entries.length);
+            }
+            for (int i = 0; i < entries.length; i++) {
+                Entry entry = entries[i];
+                locations.add(entry.location, entry.posting.getLocation(), i);
+                jobTypes.add(entry.jobType, entry.posting.getJobType(), i);
+                Double salary = entry.posting.getSalary();
+                salaries[i] = salary == null ? Double.NaN : salary;
+                if (salary != null) {
+                    salaryRanges[rangeOf(salary)].set(i);
+                }
+            }
+        }
+
+        BitSet salaryAtLeast(double min) {
+            BitSet result = new BitSet(salaries.length);
+            for (int i = 0; i < salaries.length; i++) {
+                // NaN (no salary) compares false
+                if (salaries[i] >= min) result.set(i);
+            }
+            return result;
+        }
+
+        List<SalaryRange> salaryCounts(BitSet within) {
+            List<SalaryRange> counts = new ArrayList<>(SALARY_BUCKETS.length);
+            for (int i = 0; i < SALARY_BUCKETS.length; i++) {
+                Double max = i + 1 < SALARY_BUCKETS.length ? SALARY_BUCKETS[i + 1] : null;
+                counts.add(new SalaryRange(SALARY_BUCKETS[i], max, countIn(salaryRanges[i], within)));
+            }
+            return counts;
+        }
+
+        private static int rangeOf(double salary) {
+            int range = 0;
+            while (range + 1 < SALARY_BUCKETS.length && salary >= SALARY_BUCKETS[range + 1]) range++;
+            return range;
+        }
+    }
+
+    private static final class ValueBitmaps {
+        private final Map<String, BitSet> bitmaps = new LinkedHashMap<>();
+        private final Map<String, String> labels = new HashMap<>();
+
+        void add(String normalized, String label, int position) {
+            if (normalized == null || normalized.isBlank()) return;
+            bitmaps.computeIfAbsent(normalized, v -> new BitSet()).set(position);
+            labels.putIfAbsent(normalized, label.trim());
+        }
+
+        /** Entries whose value contains the text, as the search filter matches them. */
+        BitSet containing(String normalizedText) {
+            BitSet result = new BitSet();
+            bitmaps.forEach((value, bitmap) -> {
+                if (value.contains(normalizedText)) result.or(bitmap);
+            });
+            return result;
+        }
+
+        /** The {@link #MAX_FACET_VALUES} most frequent values within the set, most frequent first. */
+        List<FacetValue> count(BitSet within) {
+            List<FacetValue> counts = new ArrayList<>();
+            bitmaps.forEach((value, bitmap) -> {
+                int count = countIn(bitmap, within);
+                if (count > 0) counts.add(new FacetValue(labels.get(value), count));
+            });
+            counts.sort(Comparator.comparingInt(FacetValue::getCount).reversed().thenComparing(FacetValue::getValue));
+            return counts.size() > MAX_FACET_VALUES ? counts.subList(0, MAX_FACET_VALUES) : counts;
+        }
+    }
+
+    private static int countIn(BitSet bitmap, BitSet within) {
+        if (within == null) return bitmap.cardinality();
+        BitSet both = (BitSet) bitmap.clone();
+        both.and(within);
+        return both.cardinality();
+    }
+
+    /** Facet counts of a search, returned next to its results when asked for. */
+    public static final class Facets {
+        private final List<FacetValue> location;
+        private final List<FacetValue> jobType;
+        private final List<SalaryRange> salary;
+
+        public Facets(List<FacetValue> location, List<FacetValue> jobType, List<SalaryRange> salary) {
+            this.location = location;
+            this.jobType = jobType;
+            this.salary = salary;
+        }
+
+        public List<FacetValue> getLocation() {
+            return location;
+        }
+
+        public List<FacetValue> getJobType() {
+            return jobType;
+        }
+
+        /** Every range, in order, including empty ones. */
+        public List<SalaryRange> getSalary() {
+            return salary;
+        }
+    }
+
+    public static final class FacetValue {
+        private final String value;
+        private final int count;
+
+        public FacetValue(String value, int count) {
+            this.value = value;
+            this.count = count;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    public static final class SalaryRange {
+        private final double min;
+        private final Double max;
+        private final int count;
+
+        public SalaryRange(double min, Double max, int count) {
+            this.min = min;
+            this.max = max;
+            this.count = count;
+        }
+
+        public double getMin() {
+            return min;
+        }
+
+        /** Exclusive; null for the open-ended top range. */
+        public Double getMax() {
+            return max;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,491 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.config.CrawlerProperties;
+import com.skillsync.skillsyncbackend.model.CrawledPage;
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import com.skillsync.skillsyncbackend.repository.CrawledPageRepository;
+import com.skillsync.skillsyncbackend.util.NamedThreads;
+import jakarta.annotation.PreDestroy;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Crawls the configured job boards and hands the postings of each changed listing page
+ * to the {@link JobImportService} as one batch, which upserts them by URL. Every page is
+ * requested with the validators it was last served with, so an unchanged page costs a
+ * 304 and nothing else; pages whose body hashes the same as last time are skipped too.
+ * Postings are only re-read when their listing page changed, and only written when one
+ * of their fields did.
+ * Requests run on virtual threads, limited per host in concurrency and rate. Links and
+ * redirects are only followed to the host of the source they were found on, so a
+ * listing page cannot point the crawler at other (e.g. internal) addresses.
+ */
+@Service
+public class JobCrawler {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobCrawler.class);
+
+    private static final int MAX_REPORTED_FAILURES = 100;
+    private static final int MAX_REDIRECTS = 5;
+    private static final Pattern SALARY = Pattern.compile("(\\d[\\d,]*(?:\\.\\d+)?)\\s*([kK])?");
+
+    private final CrawlerProperties properties;
+    private final CrawledPageRepository crawledPageRepository;
+    private final WriteQueue writeQueue;
+    private final JobImportService jobImportService;
+    // fetching is almost all waiting on the network, so every request gets its own virtual thread
+    private final ExecutorService fetchers = Executors.newThreadPerTaskExecutor(
+            NamedThreads.of("job-crawler-", true));
+    private final HttpClient http;
+    private final Map<String, HostThrottle> throttles = new ConcurrentHashMap<>();
+
+    public JobCrawler(CrawlerProperties properties, CrawledPageRepository crawledPageRepository,
+                      WriteQueue writeQueue, JobImportService jobImportService) {
+        this.properties = properties;
+        this.crawledPageRepository = crawledPageRepository;
+        this.writeQueue = writeQueue;
+        this.jobImportService = jobImportService;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(properties.getTimeout())
+                // followed by hand, so that they can be kept to the source's host
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    /**
+     * Crawls all sources in parallel and waits until they are done.
+     */
+    public CrawlReport crawl() {
+        CrawlReport report = new CrawlReport();
+        List<Future<Boolean>> sources = new ArrayList<>();
+        for (CrawlerProperties.Source source : properties.getSources()) {
+            sources.add(fetchers.submit(() -> {
+                crawlSource(source, report);
+                return true;
+            }));
+        }
+        sources.forEach(task -> await(task, report));
+        report.finishedAt = Instant.now();
+        return report;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fetchers.shutdownNow();
+        http.shutdownNow();
+    }
+
+    private void crawlSource(CrawlerProperties.Source source, CrawlReport report) {
+        Set<String> visited = new HashSet<>();
+        String url = source.getUrl();
+        while (url != null && visited.size() < source.getMaxPages() && visited.add(url)) {
+            try {
+                url = crawlListingPage(source, url, report);
+            } catch (IOException | RuntimeException e) {
+                report.fail(url, e);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Processes one listing page and returns the URL of the next one, if any. The page's
+     * validators are only recorded once all of its postings went through, so a posting
+     * that failed is retried on the next crawl.
+     */
+    private String crawlListingPage(CrawlerProperties.Source source, String url, CrawlReport report)
+            throws IOException, InterruptedException {
+        CrawledPage previous = crawledPageRepository.findById(url).orElse(null);
+        Fetch fetch = fetch(source, url, previous);
+        if (fetch.isUnchanged(previous)) {
+            report.pagesNotModified.increment();
+            return previous == null ? null : previous.getNextUrl();
+        }
+        report.pagesFetched.increment();
+        Document document = Jsoup.parse(new ByteArrayInputStream(fetch.body), null, url);
+        String next = null;
+        if (source.getNextPageSelector() != null) {
+            Element link = document.selectFirst(source.getNextPageSelector());
+            next = link == null ? null : sameHostUrl(source, link.absUrl("href"));
+        }
+
+        List<JobPosting> postings = new ArrayList<>();
+        List<Future<PostingPage>> postingPages = new ArrayList<>();
+        for (Element item : document.select(source.getItemSelector())) {
+            Element link = item.selectFirst(source.getLinkSelector());
+            String postingUrl = link == null ? null : sameHostUrl(source, link.absUrl("href"));
+            if (postingUrl == null) continue;
+            if (source.isFollowLinks()) {
+                postingPages.add(fetchers.submit(() -> fetchPostingPage(source, postingUrl, report)));
+            } else {
+                JobPosting posting = extract(item, source.getSelectors(), postingUrl);
+                if (posting != null) postings.add(posting);
+            }
+        }
+        boolean complete = true;
+        List<PostingPage> fetched = new ArrayList<>();
+        for (Future<PostingPage> postingPage : postingPages) {
+            PostingPage page = await(postingPage, report);
+            if (page == null) {
+                complete = false;
+            } else if (page.fetch != null) {
+                fetched.add(page);
+                if (page.posting != null) postings.add(page.posting);
+            }
+        }
+
+        // the whole page is saved as one batch; if that fails, nothing is recorded and it is retried
+        if (!postings.isEmpty()) {
+            report.add(jobImportService.importAll(postings, null));
+        }
+        fetched.forEach(page -> record(page.url, page.fetch, null));
+        if (complete) {
+            record(url, fetch, next);
+        }
+        return next;
+    }
+
+    /**
+     * Fetches and extracts one posting page; {@link PostingPage#UNCHANGED} if it has not
+     * changed, null if it failed.
+     */
+    private PostingPage fetchPostingPage(CrawlerProperties.Source source, String url, CrawlReport report) {
+        try {
+            CrawledPage previous = crawledPageRepository.findById(url).orElse(null);
+            Fetch fetch = fetch(source, url, previous);
+            if (fetch.isUnchanged(previous)) {
+                report.pagesNotModified.increment();
+                return PostingPage.UNCHANGED;
+            }
+            report.pagesFetched.increment();
+            Document document = Jsoup.parse(new ByteArrayInputStream(fetch.body), null, url);
+            return new PostingPage(url, fetch, extract(document, source.getSelectors(), url));
+        } catch (IOException | RuntimeException e) {
+            report.fail(url, e);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private Fetch fetch(CrawlerProperties.Source source, String url, CrawledPage previous)
+            throws IOException, InterruptedException {
+        URI uri = URI.create(url);
+        for (int redirects = 0; ; redirects++) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                    .timeout(properties.getTimeout())
+                    .header("User-Agent", properties.getUserAgent())
+                    .GET();
+            if (previous != null && previous.getEtag() != null) {
+                request.header("If-None-Match", previous.getEtag());
+            }
+            if (previous != null && previous.getLastModified() != null) {
+                request.header("If-Modified-Since", previous.getLastModified());
+            }
+            HostThrottle throttle = throttles.computeIfAbsent(uri.getAuthority(), host -> new HostThrottle(
+                    properties.getPerHostConcurrency(), properties.getPerHostInterval().toNanos()));
+            HttpResponse<InputStream> response;
+            byte[] body = null;
+            throttle.acquire();
+            try {
+                response = http.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+                try (InputStream in = response.body()) {
+                    if (response.statusCode() == 200) {
+                        body = readLimited(in, properties.getMaxPageSize().toBytes());
+                    }
+                }
+            } finally {
+                throttle.release();
+            }
+            int status = response.statusCode();
+            if (status == 304) {
+                return Fetch.NOT_MODIFIED;
+            }
+            if (status == 200) {
+                return new Fetch(body,
+                        response.headers().firstValue("ETag").orElse(null),
+                        response.headers().firstValue("Last-Modified").orElse(null));
+            }
+            String location = response.headers().firstValue("Location").orElse(null);
+            if (status < 300 || status > 399 || location == null) {
+                throw new IOException("HTTP " + status);
+            }
+            if (redirects == MAX_REDIRECTS) {
+                throw new IOException("Too many redirects");
+            }
+            String target = sameHostUrl(source, uri.resolve(location).toString());
+            if (target == null) {
+                throw new IOException("Redirect to another host: " + location);
+            }
+            uri = URI.create(target);
+        }
+    }
+
+    private static byte[] readLimited(InputStream in, long maxBytes) throws IOException {
+        byte[] body = in.readNBytes((int) Math.min(maxBytes + 1, Integer.MAX_VALUE - 8));
+        if (body.length > maxBytes) {
+            throw new IOException("Page is larger than " + maxBytes + " bytes");
+        }
+        return body;
+    }
+
+    /**
+     * The URL if it is an http(s) URL on the same host and port as the source, null
+     * otherwise. Default ports count as the same, so http may be upgraded to https.
+     */
+    static String sameHostUrl(CrawlerProperties.Source source, String url) {
+        if (url == null || url.isEmpty()) return null;
+        try {
+            URI target = URI.create(url);
+            URI origin = URI.create(source.getUrl());
+            String scheme = target.getScheme();
+            boolean web = "http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme);
+            return web && target.getHost() != null && target.getHost().equalsIgnoreCase(origin.getHost())
+                    && (port(target) == port(origin) || target.getPort() == -1 && origin.getPort() == -1) ? url : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static int port(URI uri) {
+        if (uri.getPort() != -1) return uri.getPort();
+        return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+
+    private void record(String url, Fetch fetch, String next) {
+        writeQueue.execute(() -> crawledPageRepository.save(
+                new CrawledPage(url, fetch.etag, fetch.lastModified, fetch.hash(), next)));
+    }
+
+    /** The posting described by the element, or null if it has no title (not a posting). */
+    private JobPosting extract(Element root, CrawlerProperties.Selectors selectors, String url) {
+        String title = text(root, selectors.getTitle());
+        if (title == null) return null;
+        JobPosting posting = new JobPosting();
+        posting.setUrl(url);
+        posting.setTitle(title);
+        posting.setCompany(text(root, selectors.getCompany()));
+        posting.setLocation(text(root, selectors.getLocation()));
+        posting.setJobType(text(root, selectors.getJobType()));
+        posting.setSalary(parseSalary(text(root, selectors.getSalary())));
+        posting.setDescription(text(root, selectors.getDescription()));
+        return posting;
+    }
+
+    private static String text(Element root, String selector) {
+        if (selector == null || selector.isBlank()) return null;
+        Element element = root.selectFirst(selector);
+        if (element == null) return null;
+        String text = element.text().strip();
+        return text.isEmpty() ? null : text;
+    }
+
+    /** The first amount in the text, e.g. 120000 for "$120,000 - $140,000" or "120k+". */
+    static Double parseSalary(String text) {
+        if (text == null) return null;
+        Matcher matcher = SALARY.matcher(text);
+        if (!matcher.find()) return null;
+        double amount = Double.parseDouble(matcher.group(1).replace(",", ""));
+        return matcher.group(2) != null ? amount * 1000 : amount;
+    }
+
+    private static <T> T await(Future<T> task, CrawlReport report) {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            report.fail(null, e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.cancel(true);
+            return null;
+        }
+    }
+
+    private static class PostingPage {
+        static final PostingPage UNCHANGED = new PostingPage(null, null, null);
+
+        private final String url;
+        private final Fetch fetch;
+        private final JobPosting posting; // null if the page has no posting on it
+
+        PostingPage(String url, Fetch fetch, JobPosting posting) {
+            this.url = url;
+            this.fetch = fetch;
+            this.posting = posting;
+        }
+    }
+
+    private static class Fetch {
+        static final Fetch NOT_MODIFIED = new Fetch(null, null, null);
+
+        private final byte[] body;
+        private final String etag;
+        private final String lastModified;
+
+        Fetch(byte[] body, String etag, String lastModified) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        String hash() {
+            return HexFormat.of().formatHex(ContentStore.sha256().digest(body));
+        }
+
+        /** A 304, or the same bytes as last time (servers that send no validators). */
+        boolean isUnchanged(CrawledPage previous) {
+            return body == null || previous != null && hash().equals(previous.getContentHash());
+        }
+    }
+
+    /**
+     * Limits the requests to one host: at most {@code permits} in flight, and their
+     * starts at least {@code intervalNanos} apart.
+     */
+    private static class HostThrottle {
+        private final Semaphore permits;
+        private final long intervalNanos;
+        // claimed by compare-and-set; a monitor would pin the carrier of a virtual thread waiting on it
+        private final AtomicLong nextStart = new AtomicLong(System.nanoTime());
+
+        HostThrottle(int permits, long intervalNanos) {
+            this.permits = new Semaphore(Math.max(1, permits));
+            this.intervalNanos = intervalNanos;
+        }
+
+        void acquire() throws InterruptedException {
+            permits.acquire();
+            long now = System.nanoTime();
+            long start = Math.max(now, nextStart.getAndUpdate(next -> Math.max(now, next) + intervalNanos));
+            try {
+                TimeUnit.NANOSECONDS.sleep(start - now);
+            } catch (InterruptedException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        void release() {
+            permits.release();
+        }
+    }
+
+    public static class CrawlReport {
+        private final Instant startedAt = Instant.now();
+        private volatile Instant finishedAt;
+        private final LongAdder pagesFetched = new LongAdder();
+        private final LongAdder pagesNotModified = new LongAdder();
+        private final LongAdder postingsCreated = new LongAdder();
+        private final LongAdder postingsUpdated = new LongAdder();
+        private final LongAdder postingsUnchanged = new LongAdder();
+        private final LongAdder postingsDuplicate = new LongAdder();
+        private final LongAdder postingsMerged = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+
+        void fail(String url, Throwable e) {
+            failed.increment();
+            logger.warn("Crawling {} failed: {}", url, e.getMessage());
+            if (failed.sum() <= MAX_REPORTED_FAILURES) {
+                failures.add((url == null ? "" : url + ": ") + e.getMessage());
+            }
+        }
+
+        void add(JobImportService.ImportResult result) {
+            postingsCreated.add(result.getCreated());
+            postingsUpdated.add(result.getUpdated());
+            postingsUnchanged.add(result.getUnchanged());
+            postingsDuplicate.add(result.getDuplicates());
+            postingsMerged.add(result.getMerged());
+            result.getFailures().forEach(failure -> fail(null, new IllegalStateException(failure)));
+        }
+
+        /** Postings created, updated or merged into, i.e. whether the catalog changed. */
+        public long changed() {
+            return postingsCreated.sum() + postingsUpdated.sum() + postingsMerged.sum();
+        }
+
+        public Instant getStartedAt() {
+            return startedAt;
+        }
+
+        public Instant getFinishedAt() {
+            return finishedAt;
+        }
+
+        public long getPagesFetched() {
+            return pagesFetched.sum();
+        }
+
+        public long getPagesNotModified() {
+            return pagesNotModified.sum();
+        }
+
+        public long getPostingsCreated() {
+            return postingsCreated.sum();
+        }
+
+        public long getPostingsUpdated() {
+            return postingsUpdated.sum();
+        }
+
+        public long getPostingsUnchanged() {
+            return postingsUnchanged.sum();
+        }
+
+        /** Postings dropped as near duplicates of one already in the catalog. */
+        public long getPostingsDuplicate() {
+            return postingsDuplicate.sum();
+        }
+
+        /** Duplicates that filled in fields of the original. */
+        public long getPostingsMerged() {
+            return postingsMerged.sum();
+        }
+
+        public long getFailed() {
+            return failed.sum();
+        }
+
+        public List<String> getFailures() {
+            return List.copyOf(failures);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.event.JobPostingChangedEvent;
+import com.skillsync.skillsyncbackend.event.JobPostingsSavedEvent;
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import com.skillsync.skillsyncbackend.repository.JobPostingRepository;
+import com.skillsync.skillsyncbackend.util.SimHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Finds postings that are exact or near duplicates of one already in the catalog, by
+ * the {@link SimHash} of their title, company and description. Fingerprints within
+ * {@link #MAX_DISTANCE} bits of each other count as duplicates. They are split into
+ * {@code MAX_DISTANCE + 1} bands and indexed by each band, so any two such fingerprints
+ * share at least one band exactly and a lookup only compares against the few postings
+ * in the same buckets. The fingerprint says nothing about location or job type, so
+ * callers check {@link #sameOpening} before treating a match as the same posting. Kept
+ * current through {@link JobPostingChangedEvent}s.
+ */
+@Component
+public class JobDeduplicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobDeduplicator.class);
+
+    public static final int MAX_DISTANCE = 3;
+    private static final int BANDS = MAX_DISTANCE + 1;
+    private static final int BAND_BITS = 64 / BANDS;
+
+    private final JobPostingRepository jobPostingRepository;
+
+    private final Map<Long, Long> fingerprints = new HashMap<>();
+    // band number in the top bits, the band's value below
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public JobDeduplicator(JobPostingRepository jobPostingRepository) {
+        this.jobPostingRepository = jobPostingRepository;
+    }
+
+    public static long fingerprint(JobPosting posting) {
+        return SimHash.of(posting.getTitle(), posting.getCompany(), posting.getDescription());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<JobPosting> all = jobPostingRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            fingerprints.clear();
+            buckets.clear();
+            all.forEach(posting -> index(posting.getId(), fingerprint(posting)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Fingerprinted {} job postings", all.size());
+    }
+
+    @EventListener
+    public void onJobPostingChanged(JobPostingChangedEvent event) {
+        if (event.getType() == JobPostingChangedEvent.Type.DELETED) {
+            remove(event.getJobId());
+        } else {
+            index(event.getJobId(), fingerprint(event.getJobPosting()));
+        }
+    }
+
+    @EventListener
+    public void onJobPostingsSaved(JobPostingsSavedEvent event) {
+        for (JobPosting posting : event.getJobPostings()) {
+            index(posting.getId(), fingerprint(posting));
+        }
+    }
+
+    /**
+     * The posting closest to the fingerprint, if one is within {@link #MAX_DISTANCE} bits.
+     */
+    public Long findDuplicate(long fingerprint) {
+        List<Long> duplicates = findDuplicates(fingerprint);
+        return duplicates.isEmpty() ? null : duplicates.get(0);
+    }
+
+    /**
+     * Every posting within {@link #MAX_DISTANCE} bits of the fingerprint, closest first.
+     */
+    public List<Long> findDuplicates(long fingerprint) {
+        lock.readLock().lock();
+        try {
+            return within(fingerprint);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether a posting with a near-identical text is the same opening as the original
+     * rather than the same role somewhere else: the fingerprint leaves out where and how
+     * the job is done, so a location or job type both postings name has to agree too.
+     */
+    public static boolean sameOpening(JobPosting original, JobPosting candidate) {
+        return agree(original.getLocation(), candidate.getLocation())
+                && agree(original.getJobType(), candidate.getJobType());
+    }
+
+    private static boolean agree(String a, String b) {
+        return a == null || b == null || a.trim().equalsIgnoreCase(b.trim());
+    }
+
+    private List<Long> within(long fingerprint) {
+        Map<Long, Integer> distances = new HashMap<>();
+        for (int band = 0; band < BANDS; band++) {
+            Set<Long> bucket = buckets.get(bucketKey(band, fingerprint));
+            if (bucket == null) continue;
+            for (Long id : bucket) {
+                int distance = SimHash.distance(fingerprint, fingerprints.get(id));
+                if (distance <= MAX_DISTANCE) distances.put(id, distance);
+            }
+        }
+        List<Long> ids = new ArrayList<>(distances.keySet());
+        ids.sort(Comparator.comparing((Long id) -> distances.get(id)).thenComparing(id -> id));
+        return ids;
+    }
+
+    /** Indexes (or re-indexes) a posting; call as soon as it is saved so the next lookup sees it. */
+    public void index(Long id, long fingerprint) {
+        lock.writeLock().lock();
+        try {
+            Long previous = fingerprints.put(id, fingerprint);
+            if (previous != null) {
+                if (previous == fingerprint) return;
+                unbucket(id, previous);
+            }
+            for (int band = 0; band < BANDS; band++) {
+                buckets.computeIfAbsent(bucketKey(band, fingerprint), key -> new HashSet<>(2)).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Long previous = fingerprints.remove(id);
+            if (previous != null) {
+                unbucket(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unbucket(Long id, long fingerprint) {
+        for (int band = 0; band < BANDS; band++) {
+            long key = bucketKey(band, fingerprint);
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(id) && bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private static long bucketKey(int band, long fingerprint) {
+        long value = (fingerprint >>> (band * BAND_BITS)) & ((1L << BAND_BITS) - 1);
+        return ((long) band << BAND_BITS) | value;
+    }
+}
@@ -0,0 +1,341 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.event.JobPostingChangedEvent;
+import com.skillsync.skillsyncbackend.event.JobPostingsSavedEvent;
+import com.skillsync.skillsyncbackend.event.ResumeChangedEvent;
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import com.skillsync.skillsyncbackend.model.Resume;
+import com.skillsync.skillsyncbackend.repository.ResumeRepository;
+import com.skillsync.skillsyncbackend.util.SkillVector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * The "jobs for you" feed: the best matching postings of each resume by weighted score,
+ * kept in memory once computed so that reading a feed is a map lookup. A posting keeps
+ * the score it got when it entered the feed, under the weights of that time. Feeds are
+ * materialized when a user uploads a resume, or on the first read of any other resume,
+ * and are then kept current as postings and resumes change: a saved posting is only
+ * scored against the resumes that share a skill with it (through an inverted index from
+ * skill to resume), a deleted one only touches the feeds that list it, and a new upload
+ * only rescores its own resume.
+ * <p>
+ * At most {@code skillsync.feed.max-feeds} feeds are kept; past that, the ones read
+ * longest ago are dropped, and feeds nobody read for {@code skillsync.feed.idle-timeout}
+ * are dropped as well. A dropped feed is materialized again on its next read.
+ */
+@Service
+public class JobFeedService {
+
+    public static final int FEED_SIZE = JobRecommendationService.MAX_LIMIT;
+    // room for postings to drop out before the feed has to be recomputed
+    private static final int CAPACITY = FEED_SIZE + 20;
+
+    private final ResumeRepository resumeRepository;
+    private final SkillDictionary skillDictionary;
+    private final SkillMatchingService skillMatchingService;
+    private final JobRecommendationService jobRecommendationService;
+    private final JobCatalog jobCatalog;
+    private final int maxFeeds;
+    private final long idleTimeoutNanos;
+
+    private final Map<Long, Feed> feeds = new HashMap<>();
+    private final Map<Integer, Set<Long>> resumesBySkill = new HashMap<>();
+    private final Map<Long, Set<Long>> feedsByJob = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public JobFeedService(ResumeRepository resumeRepository, SkillDictionary skillDictionary,
+                          SkillMatchingService skillMatchingService, JobRecommendationService jobRecommendationService,
+                          JobCatalog jobCatalog,
+                          @Value("${skillsync.feed.max-feeds:10000}") int maxFeeds,
+                          @Value("${skillsync.feed.idle-timeout:PT24H}") Duration idleTimeout) {
+        this.resumeRepository = resumeRepository;
+        this.skillDictionary = skillDictionary;
+        this.skillMatchingService = skillMatchingService;
+        this.jobRecommendationService = jobRecommendationService;
+        this.jobCatalog = jobCatalog;
+        this.maxFeeds = Math.max(1, maxFeeds);
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    /**
+     * The best {@code limit} postings for a resume, best first; empty if there is no such resume.
+     */
+    public Optional<List<JobRecommendationService.Recommendation>> feed(Long resumeId, int limit) {
+        int effectiveLimit = Math.min(Math.max(limit, 1), FEED_SIZE);
+        Feed feed;
+        List<JobRecommendationService.ScoredJob> top;
+        lock.readLock().lock();
+        try {
+            feed = feeds.get(resumeId);
+            if (feed != null) {
+                feed.lastRead = System.nanoTime();
+                top = feed.top(effectiveLimit);
+            } else {
+                top = null;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (feed == null) {
+            List<Resume> resume = resumeRepository.findAllWithSkillsByIdIn(List.of(resumeId));
+            if (resume.isEmpty()) {
+                return Optional.empty();
+            }
+            lock.writeLock().lock();
+            try {
+                feed = materialize(resumeId, resume.get(0).getSkills());
+                top = feed.top(effectiveLimit);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        JobCatalog.Snapshot catalog = jobCatalog.snapshot();
+        List<JobRecommendationService.Recommendation> recommendations = new ArrayList<>(top.size());
+        for (JobRecommendationService.ScoredJob scored : top) {
+            JobCatalog.Entry entry = catalog.get(scored.getJobId());
+            if (entry == null) continue; // deleted since the feed was read
+            SkillMatchingService.MatchResult match = skillMatchingService.matchSkills(
+                    feed.skills, scored.getJobId(), entry.getSkills());
+            recommendations.add(new JobRecommendationService.Recommendation(
+                    entry.getPosting(), scored.getMatchPercentage(), scored.getWeightedScore(), match.getMissingSkills()));
+        }
+        return Optional.of(recommendations);
+    }
+
+    @EventListener
+    public void onResumeChanged(ResumeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            boolean materialized = unregister(event.getResumeId());
+            // a user's upload is about to be looked at; imported resumes wait for their first read
+            if (materialized || event.getUserId() != null) {
+                materialize(event.getResumeId(), event.getSkills());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onJobPostingChanged(JobPostingChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getType() == JobPostingChangedEvent.Type.DELETED) {
+                removeJob(event.getJobId());
+            } else {
+                saveJob(event.getJobPosting());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onJobPostingsSaved(JobPostingsSavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getJobPostings().forEach(this::saveJob);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Drops the feeds nobody has read for the idle timeout. */
+    @Scheduled(fixedDelayString = "${skillsync.feed.sweep-interval:PT1H}",
+            initialDelayString = "${skillsync.feed.sweep-interval:PT1H}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            List<Long> idle = new ArrayList<>();
+            feeds.forEach((resumeId, feed) -> {
+                if (now - feed.lastRead >= idleTimeoutNanos) idle.add(resumeId);
+            });
+            idle.forEach(this::unregister);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean isMaterialized(Long resumeId) {
+        lock.readLock().lock();
+        try {
+            return feeds.containsKey(resumeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Feed materialize(Long resumeId, List<String> skills) {
+        Feed feed = feeds.get(resumeId);
+        if (feed == null) {
+            // interned, so postings with skills nobody has asked for yet still reach this feed
+            feed = compute(skillDictionary.encode(skills), null);
+            register(resumeId, feed);
+        }
+        return feed;
+    }
+
+    private void saveJob(JobPosting posting) {
+        Long jobId = posting.getId();
+        SkillVector jobSkills = skillDictionary.encode(posting.getSkills() == null ? List.of() : posting.getSkills());
+        Set<Long> affected = new HashSet<>(feedsByJob.getOrDefault(jobId, Set.of()));
+        jobSkills.forEach(skillId -> affected.addAll(resumesBySkill.getOrDefault(skillId, Set.of())));
+        for (Long resumeId : affected) {
+            Feed feed = feeds.get(resumeId);
+            feed.remove(jobId);
+            untrack(jobId, resumeId);
+            if (feed.needsRefill()) {
+                refill(resumeId, feed, jobId);
+            }
+            double score = skillMatchingService.matchPercentage(feed.skills, jobSkills);
+            if (score > 0) {
+                SkillWeights.Weights weights = skillMatchingService.currentWeights();
+                double weightedScore = weights.score(feed.skills, jobSkills, weights.normOf(jobId, jobSkills));
+                offer(resumeId, feed, new JobRecommendationService.ScoredJob(jobId, score, weightedScore));
+            }
+        }
+    }
+
+    private void removeJob(Long jobId) {
+        Set<Long> affected = feedsByJob.remove(jobId);
+        if (affected == null) return;
+        for (Long resumeId : affected) {
+            Feed feed = feeds.get(resumeId);
+            feed.remove(jobId);
+            if (feed.needsRefill()) {
+                refill(resumeId, feed, jobId);
+            }
+        }
+    }
+
+    private void offer(Long resumeId, Feed feed, JobRecommendationService.ScoredJob scored) {
+        List<JobRecommendationService.ScoredJob> entries = feed.entries;
+        int at = Collections.binarySearch(entries, scored, JobRecommendationService.ScoredJob.BY_SCORE_ASC.reversed());
+        at = at < 0 ? -(at + 1) : at;
+        if (at == entries.size() && !feed.complete && entries.size() >= CAPACITY) {
+            return; // would rank below postings the feed already left out
+        }
+        entries.add(at, scored);
+        track(scored.getJobId(), resumeId);
+        if (entries.size() > CAPACITY) {
+            untrack(entries.remove(entries.size() - 1).getJobId(), resumeId);
+            feed.complete = false;
+        }
+    }
+
+    /**
+     * Recomputes a feed that lost too many postings to know its next best ones. The skill
+     * index may not have seen the posting being changed yet, so it is left out here and
+     * offered again by the caller.
+     */
+    private void refill(Long resumeId, Feed feed, Long changedJobId) {
+        feed.entries.forEach(scored -> untrack(scored.getJobId(), resumeId));
+        Feed refilled = compute(feed.skills, changedJobId);
+        feed.entries.clear();
+        feed.entries.addAll(refilled.entries);
+        feed.complete = refilled.complete;
+        feed.entries.forEach(scored -> track(scored.getJobId(), resumeId));
+    }
+
+    private Feed compute(SkillVector skills, Long excludedJobId) {
+        List<JobRecommendationService.ScoredJob> top = new ArrayList<>(
+                jobRecommendationService.topMatches(skills, CAPACITY + 2));
+        if (excludedJobId != null) {
+            top.removeIf(scored -> scored.getJobId().equals(excludedJobId));
+        }
+        boolean complete = top.size() <= CAPACITY;
+        if (!complete) {
+            top.subList(CAPACITY, top.size()).clear();
+        }
+        return new Feed(skills, top, complete);
+    }
+
+    private void register(Long resumeId, Feed feed) {
+        if (feeds.size() >= maxFeeds) {
+            // a tenth more than needed, so that the next registrations don't each sort the feeds again
+            evictLeastRecentlyRead(feeds.size() - maxFeeds + 1 + maxFeeds / 10);
+        }
+        feeds.put(resumeId, feed);
+        feed.skills.forEach(skillId -> resumesBySkill.computeIfAbsent(skillId, s -> new HashSet<>()).add(resumeId));
+        feed.entries.forEach(scored -> track(scored.getJobId(), resumeId));
+    }
+
+    private boolean unregister(Long resumeId) {
+        Feed feed = feeds.remove(resumeId);
+        if (feed == null) return false;
+        feed.skills.forEach(skillId -> {
+            Set<Long> resumeIds = resumesBySkill.get(skillId);
+            if (resumeIds != null && resumeIds.remove(resumeId) && resumeIds.isEmpty()) {
+                resumesBySkill.remove(skillId);
+            }
+        });
+        feed.entries.forEach(scored -> untrack(scored.getJobId(), resumeId));
+        return true;
+    }
+
+    private void evictLeastRecentlyRead(int count) {
+        feeds.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().lastRead))
+                .limit(count)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList())
+                .forEach(this::unregister);
+    }
+
+    private void track(Long jobId, Long resumeId) {
+        feedsByJob.computeIfAbsent(jobId, j -> new HashSet<>()).add(resumeId);
+    }
+
+    private void untrack(Long jobId, Long resumeId) {
+        Set<Long> resumeIds = feedsByJob.get(jobId);
+        if (resumeIds != null && resumeIds.remove(resumeId) && resumeIds.isEmpty()) {
+            feedsByJob.remove(jobId);
+        }
+    }
+
+    private static final class Feed {
+        private final SkillVector skills;
+        // best first, at most CAPACITY
+        private final List<JobRecommendationService.ScoredJob> entries;
+        // false if matching postings were left out to stay within CAPACITY
+        private boolean complete;
+        // System.nanoTime() of the last read; written under the read lock too, hence volatile
+        private volatile long lastRead = System.nanoTime();
+
+        private Feed(SkillVector skills, List<JobRecommendationService.ScoredJob> entries, boolean complete) {
+            this.skills = skills;
+            this.entries = entries;
+            this.complete = complete;
+        }
+
+        private void remove(Long jobId) {
+            entries.removeIf(scored -> scored.getJobId().equals(jobId));
+        }
+
+        private List<JobRecommendationService.ScoredJob> top(int limit) {
+            return List.copyOf(entries.subList(0, Math.min(limit, entries.size())));
+        }
+
+        private boolean needsRefill() {
+            return !complete && entries.size() < FEED_SIZE;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsync.skillsyncbackend.event.JobPostingsSavedEvent;
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import com.skillsync.skillsyncbackend.repository.JobPostingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Saves job postings in bulk: NDJSON uploads from recruiters and admins, and the pages
+ * of postings found by the {@link JobCrawler}. Postings are upserted by URL in batches
+ * of {@code skillsync.jobs.import-batch-size}, one transaction per batch. Existing
+ * postings are looked up with one query per batch, and ids are generated in memory, so
+ * Hibernate sends the inserts of a batch (postings and skill rows) as JDBC batches.
+ * Postings without an owner (crawled or imported by an admin) that the
+ * {@link JobDeduplicator} finds to be copies of one already in the catalog are not
+ * saved; they only fill in fields the original is missing, unless a recruiter owns it.
+ */
+@Service
+public class JobImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobImportService.class);
+
+    private static final int MAX_REPORTED_FAILURES = 100;
+
+    private final JobPostingRepository jobPostingRepository;
+    private final WriteQueue writeQueue;
+    private final SkillExtractor skillExtractor;
+    private final JobDeduplicator deduplicator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogVersion catalogVersion;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public JobImportService(JobPostingRepository jobPostingRepository, WriteQueue writeQueue,
+                            SkillExtractor skillExtractor, JobDeduplicator deduplicator,
+                            ApplicationEventPublisher eventPublisher, CatalogVersion catalogVersion,
+                            ObjectMapper objectMapper,
+                            @Value("${skillsync.jobs.import-batch-size:1000}") int batchSize) {
+        this.jobPostingRepository = jobPostingRepository;
+        this.writeQueue = writeQueue;
+        this.skillExtractor = skillExtractor;
+        this.deduplicator = deduplicator;
+        this.eventPublisher = eventPublisher;
+        this.catalogVersion = catalogVersion;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Imports one posting per line, reading the stream as it goes. Lines that are not a
+     * valid posting are reported and skipped; so is a batch the database rejects.
+     *
+     * @param recruiterId owner of the postings, who may only update their own; null for
+     *                    an admin import, whose postings have no owner
+     */
+    public ImportResult importNdjson(InputStream in, Long recruiterId) throws IOException {
+        ImportResult result = new ImportResult();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<JobPosting> batch = new ArrayList<>(batchSize);
+        int lineNumber = 0;
+        int batchStart = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) continue;
+            result.received++;
+            try {
+                batch.add(parse(line));
+            } catch (JsonProcessingException e) {
+                result.fail("line " + lineNumber + ": " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                result.fail("line " + lineNumber + ": " + e.getMessage());
+            }
+            if (batch.size() == batchSize) {
+                importBatch(batch, recruiterId, result, "lines " + batchStart + "-" + lineNumber);
+                batch.clear();
+                batchStart = lineNumber + 1;
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, recruiterId, result, "lines " + batchStart + "-" + lineNumber);
+        }
+        logger.info("Imported {} job postings: {} created, {} updated, {} duplicates, {} failed",
+                result.received, result.created, result.updated, result.duplicates, result.failed);
+        return result;
+    }
+
+    /**
+     * Upserts postings already in memory; a batch the database rejects is thrown.
+     */
+    public ImportResult importAll(List<JobPosting> postings, Long recruiterId) {
+        ImportResult result = new ImportResult();
+        result.received = postings.size();
+        for (int from = 0; from < postings.size(); from += batchSize) {
+            List<JobPosting> batch = postings.subList(from, Math.min(postings.size(), from + batchSize));
+            result.add(saveBatch(batch, recruiterId));
+        }
+        return result;
+    }
+
+    private JobPosting parse(String line) throws JsonProcessingException {
+        JobPosting posting = objectMapper.readValue(line, JobPosting.class);
+        if (posting.getTitle() == null || posting.getTitle().isBlank()) {
+            throw new IllegalArgumentException("title is required");
+        }
+        return posting;
+    }
+
+    private void importBatch(List<JobPosting> batch, Long recruiterId, ImportResult result, String lines) {
+        try {
+            result.add(saveBatch(batch, recruiterId));
+        } catch (RuntimeException e) {
+            logger.warn("Importing job postings ({}) failed: {}", lines, e.getMessage());
+            result.failed += batch.size() - 1;
+            result.fail(lines + ": " + e.getMessage());
+        }
+    }
+
+    private ImportResult saveBatch(List<JobPosting> rows, Long recruiterId) {
+        // extracting skills is CPU work; it happens before the write so the writer only writes
+        List<List<String>> skills = new ArrayList<>(rows.size());
+        for (JobPosting row : rows) {
+            skills.add(row.getSkills() != null && !row.getSkills().isEmpty()
+                    ? List.copyOf(row.getSkills())
+                    : skillExtractor.extract(row.getTitle() + "\n" + Objects.toString(row.getDescription(), "")));
+        }
+        Batch batch = writeQueue.execute(() -> writeBatch(rows, skills, recruiterId));
+        if (!batch.saved.isEmpty()) {
+            eventPublisher.publishEvent(new JobPostingsSavedEvent(batch.saved));
+            catalogVersion.bump();
+        }
+        return batch.result;
+    }
+
+    /**
+     * Runs on the writer. The rows are only read, never saved themselves, so the write
+     * can be retried from scratch if its group commit fails.
+     */
+    private Batch writeBatch(List<JobPosting> rows, List<List<String>> skills, Long recruiterId) {
+        Batch batch = new Batch();
+        // the one query of the batch: anything queried after the first insert would flush it
+        Set<String> urls = new HashSet<>();
+        rows.forEach(row -> {
+            if (row.getUrl() != null) urls.add(row.getUrl());
+        });
+        Map<String, JobPosting> byUrl = new HashMap<>();
+        if (!urls.isEmpty()) {
+            jobPostingRepository.findByUrlIn(urls).forEach(posting -> byUrl.putIfAbsent(posting.getUrl(), posting));
+        }
+        Map<Long, JobPosting> saved = new LinkedHashMap<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            JobPosting row = rows.get(i);
+            JobPosting existing = row.getUrl() == null ? null : byUrl.get(row.getUrl());
+            if (existing != null) {
+                if (recruiterId != null && !recruiterId.equals(existing.getRecruiterId())) {
+                    batch.result.fail(row.getUrl() + ": posted by someone else");
+                } else if (sameFields(existing, row) && new ArrayList<>(existing.getSkills()).equals(skills.get(i))) {
+                    batch.result.unchanged++;
+                } else {
+                    copyFields(row, existing);
+                    existing.setSkills(new ArrayList<>(skills.get(i)));
+                    saved.put(existing.getId(), existing);
+                    batch.result.updated++;
+                }
+                continue;
+            }
+
+            long fingerprint = JobDeduplicator.fingerprint(row);
+            if (recruiterId == null) {
+                JobPosting original = findOriginal(fingerprint, row);
+                if (original != null) {
+                    batch.result.duplicates++;
+                    // a recruiter's own listing is only edited by that recruiter
+                    if (original.getRecruiterId() == null && merge(original, row)) {
+                        saved.put(original.getId(), original);
+                        batch.result.merged++;
+                    }
+                    continue;
+                }
+            }
+            JobPosting posting = new JobPosting();
+            copyFields(row, posting);
+            posting.setUrl(row.getUrl());
+            posting.setSkills(new ArrayList<>(skills.get(i)));
+            posting.setRecruiterId(recruiterId);
+            jobPostingRepository.save(posting);
+            if (posting.getUrl() != null) {
+                // a later row with the same URL updates this one
+                byUrl.put(posting.getUrl(), posting);
+            }
+            deduplicator.index(posting.getId(), fingerprint);
+            saved.put(posting.getId(), posting);
+            batch.result.created++;
+        }
+        batch.saved = new ArrayList<>(saved.values());
+        return batch;
+    }
+
+    /** The closest near-duplicate that is the same opening, not the same role in another city. */
+    private JobPosting findOriginal(long fingerprint, JobPosting row) {
+        for (Long id : deduplicator.findDuplicates(fingerprint)) {
+            JobPosting candidate = jobPostingRepository.findById(id).orElse(null);
+            if (candidate != null && JobDeduplicator.sameOpening(candidate, row)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static void copyFields(JobPosting from, JobPosting to) {
+        to.setTitle(from.getTitle());
+        to.setCompany(from.getCompany());
+        to.setDescription(from.getDescription());
+        to.setLocation(from.getLocation());
+        to.setJobType(from.getJobType());
+        to.setSalary(from.getSalary());
+    }
+
+    private static boolean sameFields(JobPosting a, JobPosting b) {
+        return Objects.equals(a.getTitle(), b.getTitle())
+                && Objects.equals(a.getCompany(), b.getCompany())
+                && Objects.equals(a.getLocation(), b.getLocation())
+                && Objects.equals(a.getJobType(), b.getJobType())
+                && Objects.equals(a.getSalary(), b.getSalary())
+                && Objects.equals(a.getDescription(), b.getDescription());
+    }
+
+    /**
+     * Fills in what the original posting is missing from its duplicate; true if that
+     * changed anything.
+     */
+    private static boolean merge(JobPosting original, JobPosting duplicate) {
+        boolean changed = false;
+        if (original.getLocation() == null && duplicate.getLocation() != null) {
+            original.setLocation(duplicate.getLocation());
+            changed = true;
+        }
+        if (original.getJobType() == null && duplicate.getJobType() != null) {
+            original.setJobType(duplicate.getJobType());
+            changed = true;
+        }
+        if (original.getSalary() == null && duplicate.getSalary() != null) {
+            original.setSalary(duplicate.getSalary());
+            changed = true;
+        }
+        if (changed) {
+            // loaded here, since the event is handled after the transaction
+            original.setSkills(new ArrayList<>(original.getSkills()));
+        }
+        return changed;
+    }
+
+    private static class Batch {
+        private final ImportResult result = new ImportResult();
+        private List<JobPosting> saved;
+    }
+
+    public static class ImportResult {
+        private long received;
+        private long created;
+        private long updated;
+        private long unchanged;
+        private long duplicates;
+        private long merged;
+        private long failed;
+        private final List<String> failures = new ArrayList<>();
+
+        void fail(String failure) {
+            failed++;
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add(failure);
+            }
+        }
+
+        void add(ImportResult other) {
+            created += other.created;
+            updated += other.updated;
+            unchanged += other.unchanged;
+            duplicates += other.duplicates;
+            merged += other.merged;
+            failed += other.failed - other.failures.size();
+            other.failures.forEach(this::fail);
+        }
+
+        public long getReceived() {
+            return received;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+
+        public long getUpdated() {
+            return updated;
+        }
+
+        public long getUnchanged() {
+            return unchanged;
+        }
+
+        /** Postings dropped as near duplicates of one already in the catalog. */
+        public long getDuplicates() {
+            return duplicates;
+        }
+
+        /** Duplicates that filled in fields of the original. */
+        public long getMerged() {
+            return merged;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public List<String> getFailures() {
+            return failures;
+        }
+    }
+}
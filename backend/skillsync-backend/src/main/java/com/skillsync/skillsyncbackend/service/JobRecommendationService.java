@@ -0,0 +1,247 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.event.JobPostingChangedEvent;
+import com.skillsync.skillsyncbackend.event.JobPostingsSavedEvent;
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import com.skillsync.skillsyncbackend.repository.JobPostingRepository;
+import com.skillsync.skillsyncbackend.util.SkillVector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps an in-memory inverted index from skill to job posting IDs so that the
+ * best matching postings for a resume can be found by only visiting postings
+ * that share at least one skill with it, instead of scoring the whole catalog.
+ */
+@Service
+public class JobRecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobRecommendationService.class);
+
+    public static final int MAX_LIMIT = 100;
+
+    private final JobPostingRepository jobPostingRepository;
+    private final SkillDictionary skillDictionary;
+    private final SkillWeights skillWeights;
+
+    private final Map<Integer, Set<Long>> jobsBySkill = new HashMap<>();
+    private final Map<Long, SkillVector> skillsByJob = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public JobRecommendationService(JobPostingRepository jobPostingRepository, SkillDictionary skillDictionary,
+                                    SkillWeights skillWeights) {
+        this.jobPostingRepository = jobPostingRepository;
+        this.skillDictionary = skillDictionary;
+        this.skillWeights = skillWeights;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        List<JobPosting> postings = jobPostingRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            jobsBySkill.clear();
+            skillsByJob.clear();
+            for (JobPosting posting : postings) {
+                add(posting.getId(), posting.getSkills());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Built skill index for {} job postings ({} distinct skills).", postings.size(), jobsBySkill.size());
+    }
+
+    // before the other listeners: the job feed reads this index while applying the same change
+    @EventListener
+    @Order(0)
+    public void onJobPostingChanged(JobPostingChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getJobId());
+            if (event.getType() == JobPostingChangedEvent.Type.SAVED) {
+                add(event.getJobId(), event.getJobPosting().getSkills());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    @Order(0)
+    public void onJobPostingsSaved(JobPostingsSavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (JobPosting posting : event.getJobPostings()) {
+                remove(posting.getId());
+                add(posting.getId(), posting.getSkills());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the IDs of the postings that best match the given skills, ordered by
+     * weighted score (see {@link SkillWeights}; highest first, ties broken by the higher
+     * match percentage, then the lower posting ID). Postings that share no skill with
+     * the resume are never visited.
+     */
+    public List<ScoredJob> topMatches(Collection<String> resumeSkills, int limit) {
+        return topMatches(skillDictionary.encodeKnown(resumeSkills), limit);
+    }
+
+    public List<ScoredJob> topMatches(SkillVector resumeSkills, int limit) {
+        if (resumeSkills.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        SkillWeights.Weights weights = skillWeights.current();
+        Map<Long, Integer> overlap = new HashMap<>();
+        Map<Long, Double> weightedOverlap = new HashMap<>();
+        Map<Long, Integer> required = new HashMap<>();
+        Map<Long, Double> norms = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            resumeSkills.forEach(skillId -> {
+                Set<Long> jobIds = jobsBySkill.get(skillId);
+                if (jobIds == null) return;
+                double weight = weights.weightOf(skillId);
+                for (Long jobId : jobIds) {
+                    overlap.merge(jobId, 1, Integer::sum);
+                    weightedOverlap.merge(jobId, weight, Double::sum);
+                }
+            });
+            for (Long jobId : overlap.keySet()) {
+                SkillVector jobSkills = skillsByJob.get(jobId);
+                required.put(jobId, jobSkills.cardinality());
+                norms.put(jobId, weights.normOf(jobId, jobSkills));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        PriorityQueue<ScoredJob> heap = new PriorityQueue<>(limit + 1, ScoredJob.BY_SCORE_ASC);
+        for (Map.Entry<Long, Integer> entry : overlap.entrySet()) {
+            Long jobId = entry.getKey();
+            double matchPercentage = ((double) entry.getValue() / required.get(jobId)) * 100;
+            double weightedScore = weightedOverlap.get(jobId) / norms.get(jobId) * 100;
+            heap.offer(new ScoredJob(jobId, matchPercentage, weightedScore));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<ScoredJob> result = new ArrayList<>(heap);
+        result.sort(ScoredJob.BY_SCORE_ASC.reversed());
+        return result;
+    }
+
+    /**
+     * Skill vector of an indexed posting, or an empty vector if the posting is unknown or has no skills.
+     */
+    public SkillVector skillsOf(Long jobId) {
+        lock.readLock().lock();
+        try {
+            return skillsByJob.getOrDefault(jobId, SkillVector.EMPTY);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Long jobId, List<String> skills) {
+        SkillVector vector = skillDictionary.encode(skills);
+        if (vector.isEmpty()) {
+            return; // a posting without skills can never be matched
+        }
+        skillsByJob.put(jobId, vector);
+        vector.forEach(skillId -> jobsBySkill.computeIfAbsent(skillId, s -> new HashSet<>()).add(jobId));
+    }
+
+    private void remove(Long jobId) {
+        SkillVector previous = skillsByJob.remove(jobId);
+        if (previous == null) return;
+        previous.forEach(skillId -> {
+            Set<Long> jobIds = jobsBySkill.get(skillId);
+            if (jobIds == null) return;
+            jobIds.remove(jobId);
+            if (jobIds.isEmpty()) {
+                jobsBySkill.remove(skillId);
+            }
+        });
+    }
+
+    public static class ScoredJob {
+        static final Comparator<ScoredJob> BY_SCORE_ASC = Comparator
+                .comparingDouble(ScoredJob::getWeightedScore)
+                .thenComparingDouble(ScoredJob::getMatchPercentage)
+                .thenComparing(ScoredJob::getJobId, Collections.reverseOrder());
+
+        private final Long jobId;
+        private final double matchPercentage;
+        private final double weightedScore;
+
+        public ScoredJob(Long jobId, double matchPercentage, double weightedScore) {
+            this.jobId = jobId;
+            this.matchPercentage = matchPercentage;
+            this.weightedScore = weightedScore;
+        }
+
+        public Long getJobId() {
+            return jobId;
+        }
+
+        public double getMatchPercentage() {
+            return matchPercentage;
+        }
+
+        public double getWeightedScore() {
+            return weightedScore;
+        }
+    }
+
+    public static class Recommendation {
+        private final JobPosting job;
+        private final double matchPercentage;
+        private final double weightedScore;
+        private final List<String> missingSkills;
+
+        public Recommendation(JobPosting job, double matchPercentage, double weightedScore, List<String> missingSkills) {
+            this.job = job;
+            this.matchPercentage = matchPercentage;
+            this.weightedScore = weightedScore;
+            this.missingSkills = missingSkills;
+        }
+
+        public JobPosting getJob() {
+            return job;
+        }
+
+        public double getMatchPercentage() {
+            return matchPercentage;
+        }
+
+        public double getWeightedScore() {
+            return weightedScore;
+        }
+
+        public List<String> getMissingSkills() {
+            return missingSkills;
+        }
+    }
+}
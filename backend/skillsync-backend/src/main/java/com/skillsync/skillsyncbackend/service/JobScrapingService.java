@@ -1,42 +1,107 @@
 package com.skillsync.skillsyncbackend.service;
 
+import com.skillsync.skillsyncbackend.config.CrawlerProperties;
 import com.skillsync.skillsyncbackend.model.JobPosting;
 import com.skillsync.skillsyncbackend.repository.JobPostingRepository;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
+import com.skillsync.skillsyncbackend.util.NamedThreads;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Runs the {@link JobCrawler}: on a schedule when {@code skillsync.crawler.enabled} is set,
+ * and in the background when an admin asks for it. Only one crawl runs at a time.
+ */
 @Service
 public class JobScrapingService {
 
+    private static final Logger logger = LoggerFactory.getLogger(JobScrapingService.class);
+
     @Autowired
     private JobPostingRepository jobPostingRepository;
 
-    public List<JobPosting> fetchAndSaveJobPostings() {
-        List<JobPosting> jobPostings = new ArrayList<>();
-        jobPostings.add(new JobPosting("Software Engineer", "Google", "Develop and maintain software.", Arrays.asList("Java", "Spring Boot", "REST API", "SQL"), "http://mockjobs.com/google-se", null));
-        jobPostings.add(new JobPosting("Frontend Developer", "Facebook", "Build user interfaces.", Arrays.asList("JavaScript", "React", "HTML", "CSS"), "http://mockjobs.com/facebook-fe", null));
-        jobPostings.add(new JobPosting("Data Scientist", "Amazon", "Analyze large datasets.", Arrays.asList("Python", "Machine Learning", "SQL", "Statistics"), "http://mockjobs.com/amazon-ds", null));
-        jobPostings.add(new JobPosting("Backend Developer", "Microsoft", "Design and implement backend services.", Arrays.asList("Java", "Spring Boot", "Microservices", "Kafka"), "http://mockjobs.com/microsoft-be", null));
-        jobPostings.add(new JobPosting("DevOps Engineer", "Netflix", "Manage infrastructure and deployments.", Arrays.asList("AWS", "Docker", "Kubernetes", "CI/CD"), "http://mockjobs.com/netflix-devops", null));
+    @Autowired
+    private JobCrawler jobCrawler;
+
+    @Autowired
+    private CrawlerProperties crawlerProperties;
+
+    private final ExecutorService launcher = Executors.newSingleThreadExecutor(
+            NamedThreads.of("job-crawl-", true));
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile JobCrawler.CrawlReport lastReport;
+
+    @Scheduled(fixedDelayString = "${skillsync.crawler.interval:PT6H}",
+            initialDelayString = "${skillsync.crawler.initial-delay:PT1M}")
+    public void scheduledCrawl() {
+        if (crawlerProperties.isEnabled()) {
+            crawl();
+        }
+    }
 
-        jobPostingRepository.saveAll(jobPostings);
-        return jobPostings;
+    /**
+     * Starts a crawl in the background; false if one is already running.
+     */
+    public boolean startCrawl() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        launcher.execute(() -> {
+            try {
+                runCrawl();
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Crawls and waits for the result; empty if a crawl is already running.
+     */
+    public Optional<JobCrawler.CrawlReport> crawl() {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(runCrawl());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public Optional<JobCrawler.CrawlReport> getLastReport() {
+        return Optional.ofNullable(lastReport);
     }
 
     public List<JobPosting> getAllJobPostings() {
         return jobPostingRepository.findAll();
     }
 
-    private List<String> extractSkills(String text) {
-        return Arrays.asList("Java", "Spring Boot", "REST API", "SQL", "Maven");
+    @PreDestroy
+    public void shutdown() {
+        launcher.shutdownNow();
+    }
+
+    private JobCrawler.CrawlReport runCrawl() {
+        JobCrawler.CrawlReport report = jobCrawler.crawl();
+        lastReport = report;
+        logger.info("Crawl done: {} pages fetched, {} not modified, {} postings created, {} updated, {} duplicates, {} failures",
+                report.getPagesFetched(), report.getPagesNotModified(), report.getPostingsCreated(),
+                report.getPostingsUpdated(), report.getPostingsDuplicate(), report.getFailed());
+        return report;
     }
 }
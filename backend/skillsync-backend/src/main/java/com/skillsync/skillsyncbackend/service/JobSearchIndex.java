@@ -0,0 +1,249 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.event.JobPostingChangedEvent;
+import com.skillsync.skillsyncbackend.event.JobPostingsSavedEvent;
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import com.skillsync.skillsyncbackend.repository.JobPostingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over job posting title, company and description, used by
+ * the job search instead of {@code LIKE '%keyword%'} table scans. Every query term
+ * must match (the last one as a prefix, for search-as-you-type); hits are ranked with
+ * BM25 over field-weighted term frequencies. Kept current through
+ * {@link JobPostingChangedEvent}s.
+ */
+@Component
+public class JobSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobSearchIndex.class);
+
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float COMPANY_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final JobPostingRepository jobPostingRepository;
+
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private double totalLength;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public JobSearchIndex(JobPostingRepository jobPostingRepository) {
+        this.jobPostingRepository = jobPostingRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<JobPosting> all = jobPostingRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+            for (JobPosting posting : all) {
+                add(posting);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Built search index for {} job postings ({} terms).", all.size(), postings.size());
+    }
+
+    @EventListener
+    public void onJobPostingChanged(JobPostingChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getJobId());
+            if (event.getType() == JobPostingChangedEvent.Type.SAVED) {
+                add(event.getJobPosting());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onJobPostingsSaved(JobPostingsSavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (JobPosting posting : event.getJobPostings()) {
+                remove(posting.getId());
+                add(posting);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Postings matching every term of the query, best match first (ties broken by the lower ID).
+     * A blank query matches nothing.
+     */
+    public List<Hit> search(String query) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) return List.of();
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Float>> termPostings = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                Map<Long, Float> matches = i == terms.size() - 1 ? prefixPostings(terms.get(i)) : postings.get(terms.get(i));
+                if (matches == null || matches.isEmpty()) return List.of();
+                termPostings.add(matches);
+            }
+            // walk the rarest term and probe the others
+            termPostings.sort(Comparator.comparingInt(Map::size));
+            double averageLength = documents.isEmpty() ? 1 : totalLength / documents.size();
+            double[] idf = new double[termPostings.size()];
+            for (int i = 0; i < idf.length; i++) {
+                int df = termPostings.get(i).size();
+                idf[i] = Math.log(1 + (documents.size() - df + 0.5) / (df + 0.5));
+            }
+
+            List<Hit> hits = new ArrayList<>();
+            candidates:
+            for (Map.Entry<Long, Float> candidate : termPostings.get(0).entrySet()) {
+                Long id = candidate.getKey();
+                double norm = K1 * (1 - B + B * documents.get(id).length / averageLength);
+                double score = 0;
+                for (int i = 0; i < termPostings.size(); i++) {
+                    Float tf = i == 0 ? candidate.getValue() : termPostings.get(i).get(id);
+                    if (tf == null) continue candidates;
+                    score += idf[i] * (tf * (K1 + 1)) / (tf + norm);
+                }
+                hits.add(new Hit(id, score));
+            }
+            hits.sort(Hit.BEST_FIRST);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cased runs of letters and digits; '+' and '#' are kept so "C++" and "C#" stay searchable.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && isTokenChar(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isTokenChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#';
+    }
+
+    private Map<Long, Float> prefixPostings(String prefix) {
+        NavigableMap<String, Map<Long, Float>> range = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (range.size() == 1) return range.firstEntry().getValue();
+        Map<Long, Float> merged = new HashMap<>();
+        for (Map<Long, Float> termPostings : range.values()) {
+            termPostings.forEach((id, tf) -> merged.merge(id, tf, Float::sum));
+        }
+        return merged;
+    }
+
+    private void add(JobPosting posting) {
+        Map<String, Float> termFrequencies = new HashMap<>();
+        int length = addField(termFrequencies, posting.getTitle(), TITLE_WEIGHT)
+                + addField(termFrequencies, posting.getCompany(), COMPANY_WEIGHT)
+                + addField(termFrequencies, posting.getDescription(), DESCRIPTION_WEIGHT);
+        for (Map.Entry<String, Float> entry : termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(posting.getId(), entry.getValue());
+        }
+        documents.put(posting.getId(), new Document(termFrequencies.keySet(), length));
+        totalLength += length;
+    }
+
+    private static int addField(Map<String, Float> termFrequencies, String text, float weight) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            termFrequencies.merge(token, weight, Float::sum);
+        }
+        return tokens.size();
+    }
+
+    private void remove(Long id) {
+        Document previous = documents.remove(id);
+        if (previous == null) return;
+        totalLength -= previous.length;
+        for (String term : previous.terms) {
+            Map<Long, Float> termPostings = postings.get(term);
+            if (termPostings == null) continue;
+            termPostings.remove(id);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static class Document {
+        private final Collection<String> terms;
+        private final int length;
+
+        Document(Collection<String> terms, int length) {
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+
+    public static class Hit {
+        static final Comparator<Hit> BEST_FIRST = Comparator.comparingDouble(Hit::getScore).reversed()
+                .thenComparing(Hit::getJobId);
+
+        private final Long jobId;
+        private final double score;
+
+        public Hit(Long jobId, double score) {
+            this.jobId = jobId;
+            this.score = score;
+        }
+
+        public Long getJobId() {
+            return jobId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
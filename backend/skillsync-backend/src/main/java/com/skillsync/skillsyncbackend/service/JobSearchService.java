@@ -0,0 +1,210 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import com.skillsync.skillsyncbackend.util.TtlCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Job search used by {@code GET /api/jobs}: the keyword goes through the full-text
+ * {@link JobSearchIndex}, the remaining filters are applied to a snapshot of the
+ * {@link JobCatalog}, so searches run without the database and without locks.
+ * <p>
+ * Results are returned in keyset pages: ordered by (relevance desc, id asc) for keyword
+ * searches and by id otherwise. The opaque cursor of a page encodes where the next page
+ * starts, so it is found without any OFFSET scan. Browsing cursors carry the last ID.
+ * Relevance scores shift with every change to the catalog, so a keyword search that has
+ * more than one page keeps its ranking, as a list of IDs, for {@link #CURSOR_TTL}; its
+ * cursors point into that ranking, and later pages neither re-score the matches nor skip
+ * or repeat rows when postings change in between. An expired cursor is rejected.
+ */
+@Service
+public class JobSearchService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+    static final Duration CURSOR_TTL = Duration.ofMinutes(30);
+    private static final int MAX_RANKINGS = 500;
+
+    @Autowired
+    private JobCatalog jobCatalog;
+
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+
+    private final TtlCache<String, Ranking> rankings = new TtlCache<>(CURSOR_TTL, MAX_RANKINGS);
+
+    /**
+     * One page of postings matching all filters.
+     *
+     * @param cursor {@code nextCursor} of the previous page, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed, or belongs to a keyword
+     *                                  search that has expired or had another keyword
+     */
+    public JobPage search(String keyword, String location, String jobType, Double minSalary, String cursor, int limit) {
+        return search(keyword, location, jobType, minSalary, cursor, limit, false);
+    }
+
+    /**
+     * Like {@link #search(String, String, String, Double, String, int)}, with the facet counts
+     * of the whole search (not just the page) if {@code withFacets} is set.
+     */
+    public JobPage search(String keyword, String location, String jobType, Double minSalary, String cursor, int limit,
+                          boolean withFacets) {
+        Cursor after = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor);
+        JobCatalog.Snapshot catalog = jobCatalog.snapshot();
+        JobCatalog.Filters filters = new JobCatalog.Filters(location, jobType, minSalary);
+        if (keyword == null || keyword.isBlank()) {
+            JobPage page = browse(catalog, filters, after, limit);
+            return withFacets ? page.withFacets(catalog.facets(null, filters)) : page;
+        }
+        Ranking ranking;
+        if (after == null) {
+            ranking = Ranking.of(keyword, jobSearchIndex.search(keyword));
+        } else {
+            ranking = after.search == null ? null : rankings.getIfPresent(after.search).orElse(null);
+            if (ranking == null || !ranking.keyword.equals(keyword)) {
+                throw new IllegalArgumentException("Cursor has expired or is for another search");
+            }
+        }
+        JobPage page = searchByKeyword(catalog, ranking, filters, after, limit);
+        if (!withFacets) return page;
+        List<Long> matches = new ArrayList<>(ranking.ids.length);
+        for (long id : ranking.ids) {
+            matches.add(id);
+        }
+        return page.withFacets(catalog.facets(matches, filters));
+    }
+
+    private JobPage browse(JobCatalog.Snapshot catalog, JobCatalog.Filters filters, Cursor after, int limit) {
+        if (after != null && after.search != null) {
+            throw new IllegalArgumentException("Cursor is for a keyword search");
+        }
+        long afterId = after == null ? 0L : after.position;
+        List<JobCatalog.Entry> rows = catalog.page(afterId, filters, limit + 1);
+        List<JobPosting> content = rows.stream().limit(limit).map(JobCatalog.Entry::getPosting).collect(Collectors.toList());
+        if (rows.size() <= limit) {
+            return new JobPage(content, null);
+        }
+        return new JobPage(content, new Cursor(null, content.get(limit - 1).getId()).encode());
+    }
+
+    private JobPage searchByKeyword(JobCatalog.Snapshot catalog, Ranking ranking, JobCatalog.Filters filters,
+                                    Cursor after, int limit) {
+        int start = after == null ? 0 : (int) after.position;
+        List<JobPosting> content = new ArrayList<>(limit);
+        for (int i = start; i < ranking.ids.length; i++) {
+            // deleted since the search was ranked, or changed so that it no longer passes
+            JobCatalog.Entry entry = catalog.get(ranking.ids[i]);
+            if (entry == null || !filters.test(entry)) continue;
+            if (content.size() == limit) {
+                String search = after == null ? retain(ranking) : after.search;
+                return new JobPage(content, new Cursor(search, i).encode());
+            }
+            content.add(entry.getPosting());
+        }
+        return new JobPage(content, null);
+    }
+
+    private String retain(Ranking ranking) {
+        String search = UUID.randomUUID().toString();
+        rankings.put(search, ranking);
+        return search;
+    }
+
+    /** The matches of a keyword search, best first, as ranked when it was first run. */
+    private static final class Ranking {
+        private final String keyword;
+        private final long[] ids;
+
+        private Ranking(String keyword, long[] ids) {
+            this.keyword = keyword;
+            this.ids = ids;
+        }
+
+        static Ranking of(String keyword, List<JobSearchIndex.Hit> hits) {
+            long[] ids = new long[hits.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = hits.get(i).getJobId();
+            }
+            return new Ranking(keyword, ids);
+        }
+    }
+
+    public static class JobPage {
+        private final List<JobPosting> content;
+        private final String nextCursor;
+        private final JobCatalog.Facets facets;
+
+        public JobPage(List<JobPosting> content, String nextCursor) {
+            this(content, nextCursor, null);
+        }
+
+        private JobPage(List<JobPosting> content, String nextCursor, JobCatalog.Facets facets) {
+            this.content = content;
+            this.nextCursor = nextCursor;
+            this.facets = facets;
+        }
+
+        JobPage withFacets(JobCatalog.Facets facets) {
+            return new JobPage(content, nextCursor, facets);
+        }
+
+        public List<JobPosting> getContent() {
+            return content;
+        }
+
+        /** Cursor for the following page, or null if this is the last one. */
+        public String getNextCursor() {
+            return nextCursor;
+        }
+
+        /** Only present when asked for. */
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public JobCatalog.Facets getFacets() {
+            return facets;
+        }
+    }
+
+    /**
+     * Where the next page starts: for a keyword search, the retained ranking and the
+     * position in it; when browsing, the last ID of the previous page.
+     */
+    private static class Cursor {
+        private final String search;
+        private final long position;
+
+        Cursor(String search, long position) {
+            this.search = search;
+            this.position = position;
+        }
+
+        String encode() {
+            String raw = (search == null ? "" : search) + ":" + position;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf(':');
+                String search = raw.substring(0, separator);
+                long position = Long.parseLong(raw.substring(separator + 1));
+                if (position < 0 || !search.isEmpty() && position > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Invalid cursor position");
+                }
+                return new Cursor(search.isEmpty() ? null : search, position);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+}
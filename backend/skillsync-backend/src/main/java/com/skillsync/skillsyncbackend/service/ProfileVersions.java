@@ -0,0 +1,27 @@
+package com.skillsync.skillsyncbackend.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user version of the profile, bumped whenever something the profile shows changes,
+ * and used as the profile's ETag. Users whose profile has not changed since startup are
+ * at version 0.
+ */
+@Component
+public class ProfileVersions {
+
+    // part of every tag, so ones handed out before a restart never match
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    public void bump(Long userId) {
+        versions.merge(userId, 1L, Long::sum);
+    }
+
+    public String etag(Long userId) {
+        return "\"profile-" + epoch + "-" + userId + "-" + versions.getOrDefault(userId, 0L) + "\"";
+    }
+}
@@ -0,0 +1,351 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.skillsync.skillsyncbackend.event.ResumeChangedEvent;
+import com.skillsync.skillsyncbackend.model.ParsedDocument;
+import com.skillsync.skillsyncbackend.model.Resume;
+import com.skillsync.skillsyncbackend.repository.ResumeRepository;
+import com.skillsync.skillsyncbackend.util.NamedThreads;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Imports a zip archive of resumes (e.g. from a partner) without tying them to a user.
+ * Entries are streamed out of the archive one by one and parsed in parallel on a
+ * CPU-sized pool (files already in the {@link ContentStore} reuse their cached parse
+ * result); a single writer saves the parsed resumes in batched transactions.
+ * Imports run one at a time in the background and report their progress through
+ * {@link #getImport}.
+ */
+@Service
+public class ResumeBulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeBulkImportService.class);
+
+    public static final int BATCH_SIZE = 100;
+    private static final int MAX_REPORTED_FAILURES = 1000;
+    private static final Duration RETENTION = Duration.ofHours(24);
+    private static final Set<String> SUPPORTED_EXTENSIONS = Set.of("pdf", "docx", "doc", "odt", "rtf", "txt");
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ContentStore contentStore;
+
+    @Autowired
+    private ResumeParser resumeParser;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${skillsync.import.max-archive-size:1GB}")
+    private DataSize maxArchiveSize;
+
+    // parsing is CPU-bound, so parsers stay platform threads sized to the cores
+    private final int parallelism = Runtime.getRuntime().availableProcessors();
+    private final ExecutorService parsers = Executors.newFixedThreadPool(parallelism,
+            NamedThreads.of("resume-import-"));
+    private final ExecutorService coordinator;
+    private final Map<String, BulkImport> imports = new ConcurrentHashMap<>();
+
+    public ResumeBulkImportService(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        // the coordinator mostly waits on the archive, the parsers and the database
+        this.coordinator = Executors.newSingleThreadExecutor(
+                NamedThreads.of("resume-import-coordinator-", virtualThreads));
+    }
+
+    /**
+     * Spools the archive and queues it for import.
+     *
+     * @throws IllegalArgumentException if the archive is larger than {@code skillsync.import.max-archive-size}
+     */
+    public BulkImport submit(InputStream archive, String name) throws IOException {
+        pruneFinished();
+        Path spooled = Files.createTempFile("skillsync-import-", ".zip");
+        try (OutputStream out = Files.newOutputStream(spooled)) {
+            long max = maxArchiveSize.toBytes();
+            long total = 0;
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = archive.read(buffer)) != -1) {
+                total += read;
+                if (total > max) {
+                    throw new IllegalArgumentException("Archive is larger than " + max / (1024 * 1024) + " MB");
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+        BulkImport bulkImport = new BulkImport(UUID.randomUUID().toString(), name);
+        imports.put(bulkImport.getId(), bulkImport);
+        coordinator.execute(() -> run(bulkImport, spooled));
+        return bulkImport;
+    }
+
+    public Optional<BulkImport> getImport(String id) {
+        return Optional.ofNullable(imports.get(id));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        parsers.shutdownNow();
+    }
+
+    private void run(BulkImport bulkImport, Path archive) {
+        bulkImport.status = Status.RUNNING;
+        bulkImport.startedAt = Instant.now();
+        // bounds the number of entries held in memory while waiting for a parser
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        BlockingQueue<Resume> parsed = new LinkedBlockingQueue<>();
+        List<Future<?>> tasks = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new BufferedInputStream(Files.newInputStream(archive)))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String name = entry.getName();
+                if (entry.isDirectory() || !isSupported(name)) continue;
+                bulkImport.total.increment();
+                byte[] bytes;
+                try {
+                    bytes = readEntry(zip, resumeParser.getMaxBytes());
+                } catch (IOException e) {
+                    bulkImport.fail(name, e.getMessage());
+                    continue;
+                }
+                inFlight.acquire();
+                tasks.add(parsers.submit(() -> {
+                    try {
+                        String hash = contentStore.store(new ByteArrayInputStream(bytes)).getHash();
+                        ParsedDocument document = resumeService.parseStored(hash);
+                        Resume resume = new Resume(fileName(name), document.getContent(),
+                                new ArrayList<>(document.getSkills()), null, null, null, null);
+                        resume.setContentHash(hash);
+                        parsed.add(resume);
+                        bulkImport.parsed.increment();
+                    } catch (Exception e) {
+                        bulkImport.fail(name, e.getMessage());
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+                if (parsed.size() >= BATCH_SIZE) {
+                    saveBatches(parsed, bulkImport);
+                }
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+            saveBatches(parsed, bulkImport);
+            bulkImport.status = Status.COMPLETED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            bulkImport.error = "Import was interrupted";
+            bulkImport.status = Status.FAILED;
+        } catch (Exception e) {
+            logger.warn("Resume import {} failed: {}", bulkImport.getId(), e.getMessage());
+            bulkImport.error = e.getMessage();
+            bulkImport.status = Status.FAILED;
+        } finally {
+            tasks.forEach(task -> task.cancel(true));
+            bulkImport.finishedAt = Instant.now();
+            try {
+                Files.deleteIfExists(archive);
+            } catch (IOException e) {
+                logger.warn("Could not delete spooled archive {}", archive);
+            }
+        }
+        logger.info("Resume import {} {}: {} saved, {} failed of {} files.", bulkImport.getId(),
+                bulkImport.status, bulkImport.getSaved(), bulkImport.getFailed(), bulkImport.getTotal());
+    }
+
+    private void saveBatches(BlockingQueue<Resume> parsed, BulkImport bulkImport) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Resume> batch = new ArrayList<>(BATCH_SIZE);
+        while (parsed.drainTo(batch, BATCH_SIZE) > 0) {
+            transaction.executeWithoutResult(status -> resumeRepository.saveAll(batch));
+            bulkImport.saved.add(batch.size());
+            batch.forEach(resume -> eventPublisher.publishEvent(new ResumeChangedEvent(resume)));
+            batch.clear();
+        }
+    }
+
+    private static byte[] readEntry(InputStream zip, long maxBytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = zip.read(buffer)) != -1) {
+            if (out.size() + read > maxBytes) {
+                throw new IOException("File is larger than " + maxBytes / (1024 * 1024) + " MB");
+            }
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean isSupported(String name) {
+        String fileName = fileName(name);
+        int dot = fileName.lastIndexOf('.');
+        // skip macOS resource forks and other hidden files
+        return !name.startsWith("__MACOSX/") && !fileName.startsWith(".") && dot > 0
+                && SUPPORTED_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private static String fileName(String entryName) {
+        return entryName.substring(entryName.lastIndexOf('/') + 1);
+    }
+
+    private void pruneFinished() {
+        Instant cutoff = Instant.now().minus(RETENTION);
+        imports.values().removeIf(i -> i.finishedAt != null && i.finishedAt.isBefore(cutoff));
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    // status is serialized first: once it reads COMPLETED or FAILED, the counters read after it are final
+    @JsonPropertyOrder({"id", "filename", "status"})
+    public static class BulkImport {
+        private final String id;
+        private final String filename;
+        private final LongAdder total = new LongAdder();
+        private final LongAdder parsed = new LongAdder();
+        private final LongAdder saved = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final ConcurrentLinkedQueue<FileFailure> failures = new ConcurrentLinkedQueue<>();
+        private volatile Status status = Status.QUEUED;
+        private volatile String error;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+
+        BulkImport(String id, String filename) {
+            this.id = id;
+            this.filename = filename;
+        }
+
+        void fail(String file, String reason) {
+            failed.increment();
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add(new FileFailure(file, reason));
+            }
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getFilename() {
+            return filename;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        /** Supported files found in the archive so far. */
+        public long getTotal() {
+            return total.sum();
+        }
+
+        public long getParsed() {
+            return parsed.sum();
+        }
+
+        public long getSaved() {
+            return saved.sum();
+        }
+
+        public long getFailed() {
+            return failed.sum();
+        }
+
+        /** Files that could not be imported (the first 1000 are reported). */
+        public List<FileFailure> getFailures() {
+            return List.copyOf(failures);
+        }
+
+        /** Set if the import as a whole failed. */
+        public String getError() {
+            return error;
+        }
+
+        public Instant getStartedAt() {
+            return startedAt;
+        }
+
+        public Instant getFinishedAt() {
+            return finishedAt;
+        }
+
+        public double getFilesPerSecond() {
+            if (startedAt == null) return 0.0;
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+            return (getSaved() + getFailed()) * 1000.0 / millis;
+        }
+    }
+
+    public static class FileFailure {
+        private final String file;
+        private final String reason;
+
+        public FileFailure(String file, String reason) {
+            this.file = file;
+            this.reason = reason;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.model.ParsedDocument;
+import com.skillsync.skillsyncbackend.model.Resume;
+import com.skillsync.skillsyncbackend.util.NamedThreads;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs resume uploads off the request thread. The upload is written to the
+ * {@link ContentStore} and queued on a bounded pool of ingestion workers, which parse
+ * it (unless the same file was parsed before), extract its skills and save it; callers
+ * get an ingestion ID back at once and poll {@link #getIngestion} for the outcome.
+ * When the queue is full new uploads are rejected instead of piling up.
+ */
+@Service
+public class ResumeIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeIngestionService.class);
+
+    /** How long finished ingestions stay available for polling. */
+    private static final Duration RETENTION = Duration.ofHours(1);
+    private static final List<String> STAGES = List.of("queue", "lookup", "parse", "save");
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Autowired
+    private ContentStore contentStore;
+
+    @Autowired
+    private ResumeParser resumeParser;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Ingestion> ingestions = new ConcurrentHashMap<>();
+    private final Map<String, StageTimer> stageTimers = new LinkedHashMap<>();
+
+    public ResumeIngestionService(@Value("${skillsync.ingestion.workers:2}") int workers,
+                                  @Value("${skillsync.ingestion.queue-capacity:50}") int queueCapacity,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        // the pool size still bounds how many files are parsed at once, whatever the thread kind
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), NamedThreads.of("resume-ingest-", virtualThreads),
+                new ThreadPoolExecutor.AbortPolicy());
+        STAGES.forEach(stage -> stageTimers.put(stage, new StageTimer()));
+    }
+
+    /**
+     * Stores the upload and queues it for ingestion as the user's resume.
+     *
+     * @throws IllegalArgumentException if the file is larger than the parser accepts
+     * @throws RejectedExecutionException if the ingestion queue is full
+     */
+    public Ingestion submit(Long userId, MultipartFile file) throws IOException {
+        if (file.getSize() > resumeParser.getMaxBytes()) {
+            throw new IllegalArgumentException("File is larger than " + resumeParser.getMaxBytes() / (1024 * 1024) + " MB");
+        }
+        pruneFinished();
+        // cheap check first so a full queue does not cost a disk write
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw new RejectedExecutionException("Resume ingestion queue is full");
+        }
+        ContentStore.StoredContent stored;
+        try (InputStream in = file.getInputStream()) {
+            stored = contentStore.store(in);
+        }
+
+        Ingestion ingestion = new Ingestion(UUID.randomUUID().toString(), userId, file.getOriginalFilename(), stored.getHash());
+        ingestions.put(ingestion.getId(), ingestion);
+        try {
+            executor.execute(() -> process(ingestion));
+        } catch (RejectedExecutionException e) {
+            ingestions.remove(ingestion.getId());
+            throw e;
+        }
+        return ingestion;
+    }
+
+    public Optional<Ingestion> getIngestion(String id) {
+        return Optional.ofNullable(ingestions.get(id));
+    }
+
+    /**
+     * Per-stage timings over all ingestions since startup, plus the current queue state.
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> stages = new LinkedHashMap<>();
+        stageTimers.forEach((stage, timer) -> stages.put(stage, timer.snapshot()));
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("queued", executor.getQueue().size());
+        metrics.put("queueCapacity", executor.getQueue().size() + executor.getQueue().remainingCapacity());
+        metrics.put("active", executor.getActiveCount());
+        metrics.put("completed", executor.getCompletedTaskCount());
+        metrics.put("stages", stages);
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void process(Ingestion ingestion) {
+        ingestion.status = Status.PROCESSING;
+        record(ingestion, "queue", Duration.between(ingestion.submittedAt, Instant.now()).toNanos());
+        try {
+            long start = System.nanoTime();
+            Optional<ParsedDocument> cached = resumeService.findParsed(ingestion.contentHash);
+            start = record(ingestion, "lookup", System.nanoTime() - start);
+            ParsedDocument parsed;
+            if (cached.isPresent()) {
+                ingestion.cacheHit = true;
+                parsed = cached.get();
+            } else {
+                // streaming parse: skills are extracted while the document is being read
+                parsed = resumeService.parseAndCache(ingestion.contentHash);
+                start = record(ingestion, "parse", System.nanoTime() - start);
+            }
+            ingestion.truncated = parsed.isTruncated();
+            String content = parsed.getContent();
+            List<String> skills = new ArrayList<>(parsed.getSkills());
+            Resume resume = resumeService.saveResume(ingestion.userId, ingestion.filename, ingestion.contentHash, content, skills);
+            record(ingestion, "save", System.nanoTime() - start);
+
+            ingestion.resumeId = resume.getId();
+            ingestion.skills = resume.getSkills();
+            ingestion.status = Status.COMPLETED;
+        } catch (Exception e) {
+            logger.warn("Resume ingestion {} failed: {}", ingestion.getId(), e.getMessage());
+            ingestion.error = e.getMessage();
+            ingestion.status = Status.FAILED;
+        } finally {
+            ingestion.completedAt = Instant.now();
+        }
+    }
+
+    /** Records the stage duration and returns the current time, to start timing the next stage. */
+    private long record(Ingestion ingestion, String stage, long nanos) {
+        ingestion.stageMillis.put(stage, TimeUnit.NANOSECONDS.toMillis(nanos));
+        stageTimers.get(stage).record(nanos);
+        return System.nanoTime();
+    }
+
+    private void pruneFinished() {
+        Instant cutoff = Instant.now().minus(RETENTION);
+        ingestions.values().removeIf(i -> i.completedAt != null && i.completedAt.isBefore(cutoff));
+    }
+
+    public enum Status {
+        QUEUED, PROCESSING, COMPLETED, FAILED
+    }
+
+    public static class Ingestion {
+        private final String id;
+        private final Long userId;
+        private final String filename;
+        private final String contentHash;
+        private final Instant submittedAt = Instant.now();
+        private final Map<String, Long> stageMillis = new ConcurrentHashMap<>();
+        private volatile Status status = Status.QUEUED;
+        private volatile boolean cacheHit;
+        private volatile boolean truncated;
+        private volatile Long resumeId;
+        private volatile List<String> skills;
+        private volatile String error;
+        private volatile Instant completedAt;
+
+        Ingestion(String id, Long userId, String filename, String contentHash) {
+            this.id = id;
+            this.userId = userId;
+            this.filename = filename;
+            this.contentHash = contentHash;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getFilename() {
+            return filename;
+        }
+
+        /** SHA-256 of the uploaded file. */
+        public String getContentHash() {
+            return contentHash;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        /** Whether the same file had been parsed before, so parsing was skipped. */
+        public boolean isCacheHit() {
+            return cacheHit;
+        }
+
+        /** Whether the document text was too long to be scanned completely. */
+        public boolean isTruncated() {
+            return truncated;
+        }
+
+        /** Set once the ingestion has completed. */
+        public Long getResumeId() {
+            return resumeId;
+        }
+
+        public List<String> getSkills() {
+            return skills;
+        }
+
+        /** Set if the ingestion failed. */
+        public String getError() {
+            return error;
+        }
+
+        /** Time spent in each finished stage, in milliseconds. */
+        public Map<String, Long> getStageMillis() {
+            return stageMillis;
+        }
+
+        public Instant getSubmittedAt() {
+            return submittedAt;
+        }
+
+        public Instant getCompletedAt() {
+            return completedAt;
+        }
+    }
+
+    private static class StageTimer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        Map<String, Object> snapshot() {
+            long n = count.sum();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("count", n);
+            snapshot.put("averageMillis", n == 0 ? 0.0 : totalNanos.sum() / 1e6 / n);
+            snapshot.put("maxMillis", maxNanos.get() / 1e6);
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.util.SkillMatcher;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parses uploaded documents with Tika without ever holding their full text: the SAX
+ * events coming out of the parser are fed straight into the {@link SkillExtractor}'s
+ * scanner, and only a short excerpt is kept. Input size, extracted text length and
+ * parse time are all capped, so memory per document stays bounded.
+ * <p>
+ * The time limit is checked whenever the parser reads input or emits text; a parser
+ * that spins without doing either is not interrupted.
+ */
+@Component
+public class ResumeParser {
+
+    // elements after which Tika's XHTML output implies a line break
+    private static final Set<String> BLOCK_ELEMENTS = Set.of(
+            "p", "div", "br", "li", "tr", "td", "th", "h1", "h2", "h3", "h4", "h5", "h6", "title");
+
+    private final Parser parser = new AutoDetectParser();
+
+    @Autowired
+    private SkillExtractor skillExtractor;
+
+    @Value("${skillsync.parse.max-bytes:25MB}")
+    private DataSize maxBytes;
+
+    @Value("${skillsync.parse.max-chars:2000000}")
+    private long maxChars;
+
+    @Value("${skillsync.parse.excerpt-chars:20000}")
+    private int excerptChars;
+
+    @Value("${skillsync.parse.timeout:30s}")
+    private Duration timeout;
+
+    public ResumeParser() {
+    }
+
+    public ResumeParser(SkillExtractor skillExtractor, DataSize maxBytes, long maxChars, int excerptChars, Duration timeout) {
+        this.skillExtractor = skillExtractor;
+        this.maxBytes = maxBytes;
+        this.maxChars = maxChars;
+        this.excerptChars = excerptChars;
+        this.timeout = timeout;
+    }
+
+    /** Largest input accepted by {@link #parse}. */
+    public long getMaxBytes() {
+        return maxBytes.toBytes();
+    }
+
+    /**
+     * Extracts skills and a text excerpt from the document. Text beyond the character
+     * limit is ignored and the result marked as truncated.
+     *
+     * @throws IOException if the document cannot be parsed, is too large or takes too long
+     */
+    public ParsedText parse(InputStream in) throws IOException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        LimitedInputStream input = new LimitedInputStream(in, maxBytes.toBytes(), deadline);
+        SkillHandler handler = new SkillHandler(skillExtractor.newScanner(), deadline);
+        try {
+            parser.parse(input, handler, new Metadata(), new ParseContext());
+        } catch (TikaException | SAXException | IOException | RuntimeException e) {
+            if (input.tooLarge) {
+                throw new IOException("File is larger than " + maxBytes.toMegabytes() + " MB");
+            }
+            if (input.timedOut || handler.timedOut) {
+                throw new IOException("Parsing took longer than " + timeout.toSeconds() + " s");
+            }
+            if (!handler.limitReached) {
+                throw e instanceof IOException io ? io : new IOException("Failed to parse file", e);
+            }
+        }
+        return new ParsedText(handler.excerpt.toString(), new ArrayList<>(handler.scanner.finish()),
+                handler.characters, handler.limitReached);
+    }
+
+    private class SkillHandler extends DefaultHandler {
+        private final SkillMatcher.Scanner scanner;
+        private final long deadline;
+        private final StringBuilder excerpt = new StringBuilder();
+        private long characters;
+        private boolean limitReached;
+        private boolean timedOut;
+
+        SkillHandler(SkillMatcher.Scanner scanner, long deadline) {
+            this.scanner = scanner;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            if (System.nanoTime() - deadline > 0) {
+                timedOut = true;
+                throw new SAXException("Parse timeout");
+            }
+            int accepted = (int) Math.min(length, maxChars - characters);
+            scanner.feed(ch, start, accepted);
+            if (excerpt.length() < excerptChars) {
+                int from = start;
+                int end = start + accepted;
+                // leading blank lines from empty header elements would eat into the excerpt
+                while (excerpt.isEmpty() && from < end && Character.isWhitespace(ch[from])) from++;
+                excerpt.append(ch, from, Math.min(end - from, excerptChars - excerpt.length()));
+            }
+            characters += accepted;
+            if (accepted < length) {
+                limitReached = true;
+                throw new SAXException("Text limit of " + maxChars + " characters reached");
+            }
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+            characters(ch, start, length);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            if (BLOCK_ELEMENTS.contains(localName)) {
+                characters(new char[]{'\n'}, 0, 1);
+            }
+        }
+    }
+
+    private static class LimitedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private final long deadline;
+        private long read;
+        private boolean tooLarge;
+        private boolean timedOut;
+
+        LimitedInputStream(InputStream in, long maxBytes, long deadline) {
+            super(in);
+            this.maxBytes = maxBytes;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public int read() throws IOException {
+            check();
+            int b = super.read();
+            if (b >= 0) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            check();
+            int n = super.read(b, off, len);
+            if (n > 0) count(n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            check();
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        private void check() throws IOException {
+            if (System.nanoTime() - deadline > 0) {
+                timedOut = true;
+                throw new IOException("Parse timeout");
+            }
+        }
+
+        private void count(long n) throws IOException {
+            read += n;
+            if (read > maxBytes) {
+                tooLarge = true;
+                throw new IOException("Input limit of " + maxBytes + " bytes exceeded");
+            }
+        }
+    }
+
+    public static class ParsedText {
+        private final String excerpt;
+        private final List<String> skills;
+        private final long characters;
+        private final boolean truncated;
+
+        public ParsedText(String excerpt, List<String> skills, long characters, boolean truncated) {
+            this.excerpt = excerpt;
+            this.skills = skills;
+            this.characters = characters;
+            this.truncated = truncated;
+        }
+
+        /** The start of the document text, up to the configured excerpt length. */
+        public String getExcerpt() {
+            return excerpt;
+        }
+
+        public List<String> getSkills() {
+            return skills;
+        }
+
+        /** Characters of text read from the document. */
+        public long getCharacters() {
+            return characters;
+        }
+
+        /** Whether the text limit was hit, so skills past it were not extracted. */
+        public boolean isTruncated() {
+            return truncated;
+        }
+    }
+}
@@ -1,20 +1,17 @@
 package com.skillsync.skillsyncbackend.service;
 
+import com.skillsync.skillsyncbackend.event.ResumeChangedEvent;
+import com.skillsync.skillsyncbackend.model.ParsedDocument;
 import com.skillsync.skillsyncbackend.model.Resume;
+import com.skillsync.skillsyncbackend.repository.ParsedDocumentRepository;
 import com.skillsync.skillsyncbackend.repository.ResumeRepository;
-import com.skillsync.skillsyncbackend.model.User;
-import com.skillsync.skillsyncbackend.repository.UserRepository;
-import org.apache.tika.Tika;
-import org.apache.tika.exception.TikaException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random; // Import Random for simulating ATS score
@@ -26,36 +23,85 @@ public class ResumeService {
     private ResumeRepository resumeRepository;
 
     @Autowired
-    private UserRepository userRepository; // To get the current user
+    private ParsedDocumentRepository parsedDocumentRepository;
 
-    private final Tika tika = new Tika();
+    @Autowired
+    private SkillExtractor skillExtractor;
 
-    public Resume uploadResume(MultipartFile file) throws IOException {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUsername = authentication.getName();
-        User currentUser = userRepository.findByUsername(currentUsername)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    @Autowired
+    private ContentStore contentStore;
 
-        String content;
-        try {
-            content = tika.parseToString(file.getInputStream());
-        } catch (TikaException e) {
-            throw new IOException("Failed to parse file", e);
+    @Autowired
+    private ResumeParser resumeParser;
+
+    @Autowired
+    private WriteQueue writeQueue;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Cached parse result for a file in the {@link ContentStore}. Entries whose skills were
+     * extracted with an older skill dictionary count as missing, so the stored original
+     * gets parsed again.
+     */
+    public Optional<ParsedDocument> findParsed(String contentHash) {
+        return parsedDocumentRepository.findWithSkillsByContentHash(contentHash)
+                .filter(document -> skillExtractor.getDictionaryVersion().equals(document.getDictionaryVersion()));
+    }
+
+    /**
+     * Parses a file in the {@link ContentStore} and caches the result under its hash. If
+     * the same file was parsed and cached concurrently, the cached result is returned.
+     */
+    public ParsedDocument parseAndCache(String contentHash) throws IOException {
+        ResumeParser.ParsedText parsed;
+        try (InputStream in = contentStore.open(contentHash)) {
+            parsed = resumeParser.parse(in);
         }
-        List<String> skills = extractSkills(content);
-        // Check if a resume already exists for this user
-        Optional<Resume> existingResume = resumeRepository.findByUserId(currentUser.getId());
-        Resume resume;
-        if (existingResume.isPresent()) {
-            resume = existingResume.get();
-            resume.setFilename(file.getOriginalFilename());
-            resume.setContent(content);
-            resume.setSkills(skills);
-        } else {
-            // Use the new constructor with default values for ATS score, feedback, and rating
-            resume = new Resume(file.getOriginalFilename(), content, skills, currentUser.getId(), null, null, null);
+        ParsedDocument document = new ParsedDocument(contentHash, parsed.getExcerpt(), parsed.getSkills(),
+                parsed.isTruncated(), skillExtractor.getDictionaryVersion());
+        try {
+            return writeQueue.execute(() -> parsedDocumentRepository.save(document));
+        } catch (DataIntegrityViolationException e) {
+            // both uploads missed the cache and the other one's insert won; it parsed the same bytes
+            return parsedDocumentRepository.findWithSkillsByContentHash(contentHash).orElseThrow(() -> e);
         }
-        return resumeRepository.save(resume);
+    }
+
+    /**
+     * Parse result for a file in the {@link ContentStore}, parsing it only if the same
+     * bytes have not been parsed before.
+     */
+    public ParsedDocument parseStored(String contentHash) throws IOException {
+        Optional<ParsedDocument> cached = findParsed(contentHash);
+        return cached.isPresent() ? cached.get() : parseAndCache(contentHash);
+    }
+
+    /**
+     * Stores the parsed resume as the user's resume, replacing the previous one if any.
+     * {@code content} is the text excerpt of the uploaded file.
+     */
+    public Resume saveResume(Long userId, String filename, String contentHash, String content, List<String> skills) {
+        Resume saved = writeQueue.execute(() -> {
+            // Check if a resume already exists for this user
+            Optional<Resume> existingResume = resumeRepository.findByUserId(userId);
+            Resume resume;
+            if (existingResume.isPresent()) {
+                resume = existingResume.get();
+                resume.setFilename(filename);
+                resume.setContentHash(contentHash);
+                resume.setContent(content);
+                resume.setSkills(skills);
+            } else {
+                // Use the new constructor with default values for ATS score, feedback, and rating
+                resume = new Resume(filename, content, skills, userId, null, null, null);
+                resume.setContentHash(contentHash);
+            }
+            return resumeRepository.save(resume);
+        });
+        eventPublisher.publishEvent(new ResumeChangedEvent(saved));
+        return saved;
     }
 
     /**
@@ -73,7 +119,7 @@ public class ResumeService {
 
             resume.setAtsScore(Math.round(atsScore * 100.0) / 100.0); // Round to 2 decimal places
             resume.setAtsFeedback(atsFeedback);
-            return resumeRepository.save(resume);
+            return writeQueue.execute(() -> resumeRepository.save(resume));
         });
     }
 
@@ -89,7 +135,7 @@ public class ResumeService {
         }
         return resumeRepository.findById(resumeId).map(resume -> {
             resume.setRecruiterRating(rating);
-            return resumeRepository.save(resume);
+            return writeQueue.execute(() -> resumeRepository.save(resume));
         });
     }
 
@@ -100,35 +146,4 @@ public class ResumeService {
     public Optional<Resume> getResumeByUserId(Long userId) {
         return resumeRepository.findByUserId(userId);
     }
-
-    private List<String> extractSkills(String text) {
-        List<String> knownSkills = Arrays.asList(
-                "java", "spring", "spring boot", "rest api", "sql", "maven",
-                "docker", "kubernetes", "python", "javascript", "react", "svelte",
-                "aws", "azure", "git", "linux"
-        );
-
-        String lower = text == null ? "" : text.toLowerCase();
-        List<String> found = new ArrayList<>();
-        for (String s : knownSkills) {
-            if (lower.contains(s)) {
-                found.add(capitalizeSkill(s));
-            }
-        }
-        return found;
-    }
-
-    private String capitalizeSkill(String s) {
-        if (s.equals("spring")) return "Spring";
-        if (s.equals("spring boot")) return "Spring Boot";
-        String[] parts = s.split(" ");
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < parts.length; i++) {
-            if (i > 0) sb.append(' ');
-            if (parts[i].length() > 0) {
-                sb.append(parts[i].substring(0, 1).toUpperCase()).append(parts[i].substring(1));
-            }
-        }
-        return sb.toString();
-    }
 }
@@ -0,0 +1,120 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.util.SkillVector;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Process-wide dictionary that maps normalized skill names ("spring boot") to dense
+ * int IDs, so skill lists can be encoded as {@link SkillVector} bitsets. IDs are only
+ * stable for the lifetime of the process and must not be persisted.
+ */
+@Component
+public class SkillDictionary {
+
+    public static final int UNKNOWN = -1;
+
+    private final Map<String, Integer> idsByKey = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[64];
+    private volatile int size;
+    // a lock rather than a monitor: a virtual thread blocked on a monitor pins its carrier
+    private final ReentrantLock registerLock = new ReentrantLock();
+
+    /**
+     * Canonical form used to compare skills: trimmed, lower case, single spaces.
+     */
+    public static String normalize(String skill) {
+        if (skill == null) return "";
+        return skill.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the ID for the skill, assigning a new one if it has not been seen before.
+     * Blank skills get {@link #UNKNOWN}.
+     */
+    public int intern(String skill) {
+        String key = normalize(skill);
+        if (key.isEmpty()) return UNKNOWN;
+        Integer id = idsByKey.get(key);
+        return id != null ? id : register(key, skill.trim());
+    }
+
+    /**
+     * Returns the ID for the skill, or {@link #UNKNOWN} if it has never been interned.
+     */
+    public int lookup(String skill) {
+        Integer id = idsByKey.get(normalize(skill));
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * Display name of a skill ID: the spelling it was first interned with.
+     */
+    public String nameOf(int id) {
+        int known = size; // read before names so the slot for every id < size is visible
+        String[] current = names;
+        if (id < 0 || id >= known) {
+            throw new IllegalArgumentException("Unknown skill id: " + id);
+        }
+        return current[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Encodes a skill list, interning skills that are not yet in the dictionary.
+     */
+    public SkillVector encode(Collection<String> skills) {
+        if (skills == null || skills.isEmpty()) return SkillVector.EMPTY;
+        int[] ids = new int[skills.size()];
+        int n = 0;
+        for (String skill : skills) {
+            int id = intern(skill);
+            if (id != UNKNOWN) ids[n++] = id;
+        }
+        return SkillVector.of(Arrays.copyOf(ids, n));
+    }
+
+    /**
+     * Encodes a skill list for querying only: unknown skills are dropped instead of
+     * being added to the dictionary, since no posting can contain them anyway.
+     */
+    public SkillVector encodeKnown(Collection<String> skills) {
+        if (skills == null || skills.isEmpty()) return SkillVector.EMPTY;
+        int[] ids = new int[skills.size()];
+        int n = 0;
+        for (String skill : skills) {
+            int id = lookup(skill);
+            if (id != UNKNOWN) ids[n++] = id;
+        }
+        return SkillVector.of(Arrays.copyOf(ids, n));
+    }
+
+    private int register(String key, String displayName) {
+        registerLock.lock();
+        try {
+            Integer existing = idsByKey.get(key);
+            if (existing != null) return existing;
+            int id = size;
+            String[] current = names;
+            if (id == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[id] = displayName;
+            names = current;
+            size = id + 1;
+            idsByKey.put(key, id);
+            return id;
+        } finally {
+            registerLock.unlock();
+        }
+    }
+}
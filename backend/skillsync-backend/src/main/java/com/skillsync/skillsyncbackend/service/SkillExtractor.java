@@ -0,0 +1,66 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.util.SkillMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Finds known skills in free text (resumes, job descriptions). The skill dictionary is
+ * loaded once at startup from {@code skillsync.skills.dictionary} and compiled into a
+ * {@link SkillMatcher}, so extraction is a single pass over the text regardless of how
+ * many skills the dictionary holds.
+ */
+@Component
+public class SkillExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkillExtractor.class);
+
+    private final SkillMatcher matcher;
+    private final String dictionaryVersion;
+
+    public SkillExtractor(@Value("${skillsync.skills.dictionary:classpath:skills.txt}") Resource dictionary) {
+        try (InputStream in = dictionary.getInputStream()) {
+            byte[] bytes = in.readAllBytes();
+            CRC32 checksum = new CRC32();
+            checksum.update(bytes);
+            this.dictionaryVersion = Long.toHexString(checksum.getValue());
+            this.matcher = SkillMatcher.load(new ByteArrayInputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load skill dictionary " + dictionary, e);
+        }
+        logger.info("Loaded {} skill names from {}.", matcher.size(), dictionary.getDescription());
+    }
+
+    /**
+     * Checksum of the loaded dictionary; skills extracted under another version may be stale.
+     */
+    public String getDictionaryVersion() {
+        return dictionaryVersion;
+    }
+
+    /**
+     * Canonical names of the skills mentioned in the text, in order of first appearance.
+     */
+    public List<String> extract(String text) {
+        if (text == null || text.isEmpty()) return new ArrayList<>();
+        return new ArrayList<>(matcher.findAll(text));
+    }
+
+    /**
+     * Scanner for text that arrives in pieces, e.g. while a document is being parsed.
+     */
+    public SkillMatcher.Scanner newScanner() {
+        return matcher.newScanner();
+    }
+}
@@ -1,39 +1,77 @@
 package com.skillsync.skillsyncbackend.service;
 
+import com.skillsync.skillsyncbackend.util.SkillVector;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 @Service
 public class SkillMatchingService {
 
+    private final SkillDictionary skillDictionary;
+    private final SkillWeights skillWeights;
+
+    public SkillMatchingService(SkillDictionary skillDictionary, SkillWeights skillWeights) {
+        this.skillDictionary = skillDictionary;
+        this.skillWeights = skillWeights;
+    }
+
+    /**
+     * Skills are compared case-insensitively through the shared {@link SkillDictionary}.
+     */
     public MatchResult matchSkills(List<String> resumeSkills, List<String> jobSkills) {
-        Set<String> resumeSkillSet = new HashSet<>(resumeSkills);
-        Set<String> jobSkillSet = new HashSet<>(jobSkills);
+        SkillVector jobVector = skillDictionary.encode(jobSkills); // intern first so the resume can match new skills
+        return matchSkills(skillDictionary.encodeKnown(resumeSkills), jobVector);
+    }
 
-        Set<String> matchedSkills = new HashSet<>(resumeSkillSet);
-        matchedSkills.retainAll(jobSkillSet);
+    public MatchResult matchSkills(SkillVector resumeSkills, SkillVector jobSkills) {
+        SkillWeights.Weights weights = skillWeights.current();
+        return matchSkills(resumeSkills, jobSkills, weights, weights.norm(jobSkills));
+    }
 
-        Set<String> missingSkills = new HashSet<>(jobSkillSet);
-        missingSkills.removeAll(resumeSkillSet);
+    /**
+     * Match details for a saved posting, whose weight norm the current weights already know.
+     */
+    public MatchResult matchSkills(SkillVector resumeSkills, Long jobId, SkillVector jobSkills) {
+        SkillWeights.Weights weights = skillWeights.current();
+        return matchSkills(resumeSkills, jobSkills, weights, weights.normOf(jobId, jobSkills));
+    }
 
-        double matchPercentage = 0.0;
-        if (!jobSkillSet.isEmpty()) {
-            matchPercentage = ((double) matchedSkills.size() / jobSkillSet.size()) * 100;
-        }
+    /**
+     * Match details with the job's weight norm already computed, for scoring one job
+     * against many resumes.
+     */
+    public MatchResult matchSkills(SkillVector resumeSkills, SkillVector jobSkills,
+                                   SkillWeights.Weights weights, double jobNorm) {
+        List<String> missingSkills = new ArrayList<>(jobSkills.andNotCount(resumeSkills));
+        jobSkills.forEachAndNot(resumeSkills, id -> missingSkills.add(skillDictionary.nameOf(id)));
+        return new MatchResult(matchPercentage(resumeSkills, jobSkills),
+                weights.score(resumeSkills, jobSkills, jobNorm), missingSkills);
+    }
 
-        return new MatchResult(matchPercentage, new ArrayList<>(missingSkills));
+    public SkillWeights.Weights currentWeights() {
+        return skillWeights.current();
+    }
+
+    /**
+     * Share of the job's skills covered by the resume, in percent. Does not allocate.
+     */
+    public double matchPercentage(SkillVector resumeSkills, SkillVector jobSkills) {
+        if (jobSkills.isEmpty()) {
+            return 0.0;
+        }
+        return ((double) jobSkills.intersectionCount(resumeSkills) / jobSkills.cardinality()) * 100;
     }
 
     public static class MatchResult {
         private double matchPercentage;
+        private double weightedScore;
         private List<String> missingSkills;
 
-        public MatchResult(double matchPercentage, List<String> missingSkills) {
+        public MatchResult(double matchPercentage, double weightedScore, List<String> missingSkills) {
             this.matchPercentage = matchPercentage;
+            this.weightedScore = weightedScore;
             this.missingSkills = missingSkills;
         }
 
@@ -45,6 +83,18 @@ public class SkillMatchingService {
             this.matchPercentage = matchPercentage;
         }
 
+        /**
+         * Like the match percentage, but each skill counts by its rarity across all
+         * postings and resumes (see {@link SkillWeights}).
+         */
+        public double getWeightedScore() {
+            return weightedScore;
+        }
+
+        public void setWeightedScore(double weightedScore) {
+            this.weightedScore = weightedScore;
+        }
+
         public List<String> getMissingSkills() {
             return missingSkills;
         }
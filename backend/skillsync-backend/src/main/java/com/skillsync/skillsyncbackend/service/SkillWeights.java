@@ -0,0 +1,234 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.event.JobPostingChangedEvent;
+import com.skillsync.skillsyncbackend.event.JobPostingsSavedEvent;
+import com.skillsync.skillsyncbackend.event.ResumeChangedEvent;
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import com.skillsync.skillsyncbackend.model.Resume;
+import com.skillsync.skillsyncbackend.repository.JobPostingRepository;
+import com.skillsync.skillsyncbackend.repository.ResumeRepository;
+import com.skillsync.skillsyncbackend.util.SkillVector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rarity weights (inverse document frequencies) of skills, counted over all job postings
+ * and resumes, so that a match on a rare skill ("Kubernetes") counts for more than one on
+ * a skill nearly everybody lists ("SQL"). Document frequencies are updated incrementally
+ * through the posting and resume events; the weights are published as an immutable
+ * {@link Weights} array, recomputed once the corpus has changed by about 1%. Each
+ * snapshot also carries the norm of every posting under its weights, so scoring a
+ * posting is a lookup rather than a sum over its skills.
+ */
+@Component
+public class SkillWeights {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkillWeights.class);
+
+    private final JobPostingRepository jobPostingRepository;
+    private final ResumeRepository resumeRepository;
+    private final SkillDictionary skillDictionary;
+
+    private final Map<Long, SkillVector> jobs = new HashMap<>();
+    private final Map<Long, SkillVector> resumes = new HashMap<>();
+    private int[] documentFrequencies = new int[64];
+    private int changes;
+    // guards the documents and their counts; rebuild only takes it once both tables are read
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Weights weights = Weights.of(new int[0], 0, Map.of());
+
+    public SkillWeights(JobPostingRepository jobPostingRepository, ResumeRepository resumeRepository,
+                        SkillDictionary skillDictionary) {
+        this.jobPostingRepository = jobPostingRepository;
+        this.resumeRepository = resumeRepository;
+        this.skillDictionary = skillDictionary;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<JobPosting> allJobs = jobPostingRepository.findAll();
+        List<Resume> allResumes = resumeRepository.findAll();
+        lock.lock();
+        try {
+            jobs.clear();
+            resumes.clear();
+            Arrays.fill(documentFrequencies, 0);
+            allJobs.forEach(posting -> put(jobs, posting.getId(), posting.getSkills()));
+            allResumes.forEach(resume -> put(resumes, resume.getId(), resume.getSkills()));
+            publish();
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Counted skill frequencies over {} job postings and {} resumes.", allJobs.size(), allResumes.size());
+    }
+
+    // before the feed and the recommendations score the posting with its new norm
+    @EventListener
+    @Order(0)
+    public void onJobPostingChanged(JobPostingChangedEvent event) {
+        lock.lock();
+        try {
+            if (event.getType() == JobPostingChangedEvent.Type.DELETED) {
+                remove(jobs, event.getJobId());
+                changed(1, Map.of());
+            } else {
+                SkillVector skills = put(jobs, event.getJobId(), event.getJobPosting().getSkills());
+                changed(1, Map.of(event.getJobId(), skills));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    @Order(0)
+    public void onJobPostingsSaved(JobPostingsSavedEvent event) {
+        lock.lock();
+        try {
+            Map<Long, SkillVector> saved = new HashMap<>();
+            event.getJobPostings().forEach(posting -> saved.put(posting.getId(), put(jobs, posting.getId(), posting.getSkills())));
+            changed(event.getJobPostings().size(), saved);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onResumeChanged(ResumeChangedEvent event) {
+        lock.lock();
+        try {
+            put(resumes, event.getResumeId(), event.getSkills());
+            changed(1, Map.of());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** The current weights; they never change, later updates only replace them. */
+    public Weights current() {
+        return weights;
+    }
+
+    private SkillVector put(Map<Long, SkillVector> documents, Long id, List<String> skills) {
+        SkillVector vector = skillDictionary.encode(skills);
+        SkillVector previous = documents.put(id, vector);
+        if (previous != null) {
+            previous.forEach(skillId -> documentFrequencies[skillId]--);
+        }
+        vector.forEach(skillId -> {
+            if (skillId >= documentFrequencies.length) {
+                documentFrequencies = Arrays.copyOf(documentFrequencies, Math.max(skillId + 1, documentFrequencies.length * 2));
+            }
+            documentFrequencies[skillId]++;
+        });
+        return vector;
+    }
+
+    private void remove(Map<Long, SkillVector> documents, Long id) {
+        SkillVector previous = documents.remove(id);
+        if (previous != null) {
+            previous.forEach(skillId -> documentFrequencies[skillId]--);
+        }
+    }
+
+    private void changed(int count, Map<Long, SkillVector> savedJobs) {
+        changes += count;
+        // idf moves slowly: small changes to a large corpus don't need new weights
+        if (changes > (jobs.size() + resumes.size()) / 100) {
+            publish();
+        } else if (!savedJobs.isEmpty()) {
+            weights = weights.withJobNorms(savedJobs);
+        }
+    }
+
+    private void publish() {
+        weights = Weights.of(documentFrequencies, jobs.size() + resumes.size(), jobs);
+        changes = 0;
+    }
+
+    /**
+     * Skill weights at one point in time, as a dense array indexed by skill ID. Skills
+     * the corpus had not seen yet get the weight of a skill found in no document.
+     */
+    public static final class Weights {
+        private final double[] bySkill;
+        private final double unseen;
+        // every posting's norm when these weights were published, and of the ones saved since;
+        // the latter stays small, as 1% of changes publish new weights
+        private final Map<Long, Double> jobNorms;
+        private final Map<Long, Double> savedJobNorms;
+
+        private Weights(double[] bySkill, double unseen, Map<Long, Double> jobNorms, Map<Long, Double> savedJobNorms) {
+            this.bySkill = bySkill;
+            this.unseen = unseen;
+            this.jobNorms = jobNorms;
+            this.savedJobNorms = savedJobNorms;
+        }
+
+        static Weights of(int[] documentFrequencies, int documents, Map<Long, SkillVector> jobs) {
+            double[] bySkill = new double[documentFrequencies.length];
+            for (int i = 0; i < bySkill.length; i++) {
+                bySkill[i] = idf(documentFrequencies[i], documents);
+            }
+            double unseen = idf(0, documents);
+            Map<Long, Double> jobNorms = new HashMap<>(jobs.size() * 4 / 3 + 1);
+            jobs.forEach((id, skills) -> jobNorms.put(id, skills.weightedSum(bySkill, unseen)));
+            return new Weights(bySkill, unseen, jobNorms, Map.of());
+        }
+
+        Weights withJobNorms(Map<Long, SkillVector> savedJobs) {
+            Map<Long, Double> saved = new HashMap<>(savedJobNorms);
+            savedJobs.forEach((id, skills) -> saved.put(id, norm(skills)));
+            return new Weights(bySkill, unseen, jobNorms, saved);
+        }
+
+        // smoothed, so a skill every document has still weighs 1 and an empty corpus weighs every skill the same
+        private static double idf(int documentFrequency, int documents) {
+            return Math.log((1.0 + documents) / (1.0 + documentFrequency)) + 1.0;
+        }
+
+        public double weightOf(int skillId) {
+            return skillId >= 0 && skillId < bySkill.length ? bySkill[skillId] : unseen;
+        }
+
+        /** Total weight of the skills; compute it once per job when scoring it many times. */
+        public double norm(SkillVector skills) {
+            return skills.weightedSum(bySkill, unseen);
+        }
+
+        /**
+         * The posting's {@link #norm}, computed when it was published or saved; its skills
+         * are only summed if these weights have not seen the posting.
+         */
+        public double normOf(Long jobId, SkillVector skills) {
+            Double norm = savedJobNorms.get(jobId);
+            if (norm == null) {
+                norm = jobNorms.get(jobId);
+            }
+            return norm != null ? norm : norm(skills);
+        }
+
+        /**
+         * Weighted share of the job's skills covered by the resume, in percent, given the
+         * job's {@link #norm}. Does not allocate.
+         */
+        public double score(SkillVector resumeSkills, SkillVector jobSkills, double jobNorm) {
+            if (jobNorm <= 0) {
+                return 0.0;
+            }
+            return jobSkills.weightedIntersection(resumeSkills, bySkill, unseen) / jobNorm * 100;
+        }
+    }
+}
@@ -25,6 +25,12 @@ public class UserService implements UserDetailsService {
     @Lazy
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserStateCache userStateCache;
+
+    @Autowired
+    private ProfileVersions profileVersions;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         logger.debug("Attempting to load user by username: {}", username);
@@ -49,8 +55,11 @@ public class UserService implements UserDetailsService {
             throw new RuntimeException("Email already exists");
         }
         String encodedPassword = passwordEncoder.encode(password);
-        User user = new User(username, encodedPassword, role, email);
-        return userRepository.save(user);
+        User user = userRepository.save(new User(username, encodedPassword, role, email));
+        // SQLite can hand out the id of a deleted user again; drop anything cached for it
+        userStateCache.invalidate(user.getId());
+        profileVersions.bump(user.getId());
+        return user;
     }
 
     public Optional<User> findByUsername(String username) {
@@ -0,0 +1,38 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.repository.UserRepository;
+import com.skillsync.skillsyncbackend.util.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Short-lived cache of the user state that authentication still has to check after the
+ * token signature: that the user exists and what their current role is. Role changes
+ * and deletions take effect once the entry expires, or at once where they call
+ * {@link #invalidate}.
+ */
+@Component
+public class UserStateCache {
+
+    private final UserRepository userRepository;
+    private final TtlCache<Long, UserRepository.AuthState> cache;
+
+    public UserStateCache(UserRepository userRepository,
+                          @Value("${skillsync.auth.user-cache-ttl:60s}") Duration ttl,
+                          @Value("${skillsync.auth.user-cache-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.cache = new TtlCache<>(ttl, maxSize);
+    }
+
+    /** Empty if the user no longer exists. */
+    public Optional<UserRepository.AuthState> get(Long userId) {
+        return cache.get(userId, userRepository::findAuthStateById);
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+}
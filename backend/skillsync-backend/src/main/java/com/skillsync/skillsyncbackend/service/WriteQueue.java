@@ -0,0 +1,186 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.util.NamedThreads;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Funnels small writes through a single writer thread that commits them in groups: every
+ * write queued while the previous transaction was committing goes into the next one, so
+ * under load many writes share one commit instead of contending for SQLite's write lock.
+ * If a group fails, its writes are retried one transaction each, so a failing write only
+ * fails its own caller.
+ * <p>
+ * At most {@code skillsync.db.write-queue-capacity} writes wait at a time; past that, and
+ * once the queue is shut down, new writes are rejected. A caller waits at most
+ * {@code skillsync.db.write-timeout} for its write, and then gets an error instead of
+ * hanging on a stuck or stopped writer.
+ */
+@Service
+public class WriteQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteQueue.class);
+
+    private final TransactionTemplate transaction;
+    private final int maxBatchSize;
+    private final Duration timeout;
+    private final BlockingQueue<Write<?>> queue;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(NamedThreads.of("db-writer-"));
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private volatile Thread writerThread;
+    private volatile boolean shutDown;
+
+    public WriteQueue(PlatformTransactionManager transactionManager,
+                      @Value("${skillsync.db.write-batch-size:64}") int maxBatchSize,
+                      @Value("${skillsync.db.write-queue-capacity:10000}") int capacity,
+                      @Value("${skillsync.db.write-timeout:PT60S}") Duration timeout) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, capacity));
+        this.timeout = timeout;
+        writer.execute(this::drain);
+    }
+
+    /**
+     * Runs the write in the writer's next transaction and waits until it has committed.
+     * Exceptions thrown by the write are rethrown to the caller. Called from inside a
+     * transaction (or from a write), it runs inline so it stays part of that transaction.
+     *
+     * @throws RejectedExecutionException if the queue is full or shut down
+     * @throws IllegalStateException if the write did not commit within the timeout (if the
+     *         writer had already started it, it may still commit)
+     */
+    public <T> T execute(Supplier<T> work) {
+        if (Thread.currentThread() == writerThread || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        if (shutDown) {
+            throw new RejectedExecutionException("Write queue is shut down");
+        }
+        Write<T> write = new Write<>(work);
+        if (!queue.offer(write)) {
+            throw new RejectedExecutionException("Write queue is full");
+        }
+        // the writer may have drained the queue for the last time just before
+        if (shutDown && queue.remove(write)) {
+            throw new RejectedExecutionException("Write queue is shut down");
+        }
+        try {
+            return write.result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(queue.remove(write)
+                    ? "Write was not started within " + timeout
+                    : "Write did not commit within " + timeout + "; it may still commit");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queue.remove(write);
+            throw new IllegalStateException("Interrupted while waiting for a write", e);
+        }
+    }
+
+    public void execute(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /** Writes committed so far. */
+    public long getWrites() {
+        return writes.sum();
+    }
+
+    /** Transactions committed so far; below {@link #getWrites()} when writes were grouped. */
+    public long getCommits() {
+        return commits.sum();
+    }
+
+    /** Writes waiting for the writer, not counting the ones it is committing. */
+    public int getQueued() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shutDown = true;
+        writer.shutdownNow();
+    }
+
+    private void drain() {
+        writerThread = Thread.currentThread();
+        List<Write<?>> batch = new ArrayList<>(maxBatchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+            commit(batch);
+            batch.clear();
+        }
+        queue.forEach(write -> write.result.completeExceptionally(new RejectedExecutionException("Write queue is shut down")));
+    }
+
+    private void commit(List<Write<?>> batch) {
+        try {
+            transaction.executeWithoutResult(status -> batch.forEach(Write::run));
+            commits.increment();
+            writes.add(batch.size());
+            batch.forEach(Write::complete);
+        } catch (RuntimeException | Error e) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+            logger.debug("Group of {} writes failed ({}), retrying them one by one", batch.size(), e.getMessage());
+            for (Write<?> write : batch) {
+                commit(new ArrayList<>(List.of(write)));
+            }
+        }
+    }
+
+    private static class Write<T> {
+        private final Supplier<T> work;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+
+        Write(Supplier<T> work) {
+            this.work = work;
+        }
+
+        void run() {
+            value = work.get();
+        }
+
+        void complete() {
+            result.complete(value);
+        }
+    }
+}
@@ -3,8 +3,11 @@ package com.skillsync.skillsyncbackend.util;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
 import java.util.Date;
 import java.util.function.Function;
 
@@ -12,18 +15,40 @@ import java.util.function.Function;
 public class JwtUtil {
     private final String SECRET_KEY = "skillsync_secret";
     private final long EXPIRATION = 1000 * 60 * 60 * 10; // 10 hours
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
 
-    public String generateToken(String username, String role) {
+    // decoded once; a String key would be base64-decoded again on every sign and parse
+    private final Key signingKey = new SecretKeySpec(TextCodec.BASE64.decode(SECRET_KEY), SignatureAlgorithm.HS256.getJcaName());
+
+    public String generateToken(Long userId, String username, String role) {
         return Jwts.builder()
                 .setSubject(username)
-                .claim("role", role)
+                .claim(USER_ID_CLAIM, userId)
+                .claim(ROLE_CLAIM, role)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
-                .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
+                .signWith(SignatureAlgorithm.HS256, signingKey)
                 .compact();
     }
+
+    /**
+     * Verifies the signature and expiry of the token and returns its claims.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public Claims parseToken(String token) {
+        return Jwts.parser().setSigningKey(signingKey).parseClaimsJws(token).getBody();
+    }
+
+    /** The user ID claim, or null for tokens issued without one. */
+    public static Long extractUserId(Claims claims) {
+        Object uid = claims.get(USER_ID_CLAIM);
+        return uid instanceof Number n ? n.longValue() : null;
+    }
+
     public String extractRole(String token) {
-        return extractClaim(token, claims -> (String) claims.get("role"));
+        return extractClaim(token, claims -> (String) claims.get(ROLE_CLAIM));
     }
 
     public String extractUsername(String token) {
@@ -35,20 +60,11 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
+        return claimsResolver.apply(parseToken(token));
     }
 
     public boolean isTokenValid(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        final Claims claims = parseToken(token);
+        return claims.getSubject().equals(username) && !claims.getExpiration().before(new Date());
     }
-}
\ No newline at end of file
+}
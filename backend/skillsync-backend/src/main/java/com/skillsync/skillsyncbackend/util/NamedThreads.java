@@ -0,0 +1,32 @@
+package com.skillsync.skillsyncbackend.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for our own executors, naming each thread after its pool so that
+ * thread dumps and logs show whose work it is.
+ */
+public final class NamedThreads {
+
+    private NamedThreads() {
+    }
+
+    /** Daemon platform threads, numbered from 1. */
+    public static ThreadFactory of(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * For blocking I/O work: virtual threads when the application runs in virtual-thread
+     * mode ({@code spring.threads.virtual.enabled}), daemon platform threads otherwise.
+     */
+    public static ThreadFactory of(String prefix, boolean virtual) {
+        return virtual ? Thread.ofVirtual().name(prefix, 1).factory() : of(prefix);
+    }
+}
@@ -0,0 +1,77 @@
+package com.skillsync.skillsyncbackend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 64-bit SimHash fingerprints of job postings: texts that share most of their features
+ * get fingerprints that differ in few bits. Features are the words of the title and the
+ * company and the word pairs of the description; each of the three fields carries the
+ * same total weight, so a long description cannot drown out a different title.
+ */
+public final class SimHash {
+
+    private SimHash() {
+    }
+
+    public static long of(String title, String company, String description) {
+        double[] weights = new double[64];
+        add(weights, words(title), "t:");
+        add(weights, words(company), "c:");
+        add(weights, pairs(words(description)), "d:");
+        long fingerprint = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) fingerprint |= 1L << bit;
+        }
+        return fingerprint;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static void add(double[] weights, List<String> features, String field) {
+        if (features.isEmpty()) return;
+        double weight = 1.0 / features.size();
+        for (String feature : features) {
+            long hash = hash(field + feature);
+            for (int bit = 0; bit < 64; bit++) {
+                weights[bit] += ((hash >>> bit) & 1) != 0 ? weight : -weight;
+            }
+        }
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) return words;
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}+#]+")) {
+            if (!word.isEmpty()) words.add(word);
+        }
+        return words;
+    }
+
+    private static List<String> pairs(List<String> words) {
+        if (words.size() < 2) return words;
+        List<String> pairs = new ArrayList<>(words.size() - 1);
+        for (int i = 1; i < words.size(); i++) {
+            pairs.add(words.get(i - 1) + ' ' + words.get(i));
+        }
+        return pairs;
+    }
+
+    // 64-bit FNV-1a followed by a murmur finalizer, so every bit depends on every char
+    private static long hash(String feature) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < feature.length(); i++) {
+            hash ^= feature.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
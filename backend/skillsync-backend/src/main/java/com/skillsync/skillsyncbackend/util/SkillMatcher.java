@@ -0,0 +1,260 @@
+package com.skillsync.skillsyncbackend.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton that finds every dictionary skill in a text in one pass.
+ * Matching is case-insensitive, runs of whitespace count as a single space, and a
+ * match only counts on word boundaries, so "java" is not found inside "javascript".
+ * <p>
+ * The compiled automaton is immutable and can be shared between threads; each scan
+ * uses its own {@link Scanner}, which can be fed text in arbitrary chunks.
+ */
+public final class SkillMatcher {
+
+    private static final int ROOT = 0;
+
+    // goto function, one sorted row per state
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] failure;
+    // skills ending in each state (including those reached through failure links)
+    private final int[][] outputs;
+    private final String[] canonicalNames;
+    private final int[] patternLengths;
+    private final int maxPatternLength;
+
+    private SkillMatcher(char[][] edgeChars, int[][] edgeTargets, int[] failure, int[][] outputs,
+                         String[] canonicalNames, int[] patternLengths) {
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.failure = failure;
+        this.outputs = outputs;
+        this.canonicalNames = canonicalNames;
+        this.patternLengths = patternLengths;
+        int max = 0;
+        for (int length : patternLengths) max = Math.max(max, length);
+        this.maxPatternLength = max;
+    }
+
+    /**
+     * Compiles a matcher from surface forms to the canonical skill name reported for them.
+     */
+    public static SkillMatcher compile(Map<String, String> patterns) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> terminal = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminal.add(new ArrayList<>());
+
+        List<String> names = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        for (Map.Entry<String, String> entry : patterns.entrySet()) {
+            String pattern = normalize(entry.getKey());
+            if (pattern.isEmpty()) continue;
+            int state = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                Integer next = trie.get(state).get(pattern.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    terminal.add(new ArrayList<>());
+                    trie.get(state).put(pattern.charAt(i), next);
+                }
+                state = next;
+            }
+            terminal.get(state).add(names.size());
+            names.add(entry.getValue());
+            lengths.add(pattern.length());
+        }
+
+        int states = trie.size();
+        char[][] edgeChars = new char[states][];
+        int[][] edgeTargets = new int[states][];
+        for (int s = 0; s < states; s++) {
+            TreeMap<Character, Integer> row = trie.get(s);
+            edgeChars[s] = new char[row.size()];
+            edgeTargets[s] = new int[row.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : row.entrySet()) {
+                edgeChars[s][i] = edge.getKey();
+                edgeTargets[s][i++] = edge.getValue();
+            }
+        }
+
+        // breadth-first so every failure target is final before it is used
+        int[] failure = new int[states];
+        int[][] outputs = new int[states][];
+        outputs[ROOT] = new int[0];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int target : edgeTargets[ROOT]) {
+            failure[target] = ROOT;
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] inherited = outputs[failure[state]];
+            List<Integer> own = terminal.get(state);
+            int[] merged = Arrays.copyOf(inherited, inherited.length + own.size());
+            for (int i = 0; i < own.size(); i++) merged[inherited.length + i] = own.get(i);
+            outputs[state] = merged;
+
+            for (int i = 0; i < edgeChars[state].length; i++) {
+                char c = edgeChars[state][i];
+                int target = edgeTargets[state][i];
+                int fallback = failure[state];
+                int next;
+                while ((next = step(edgeChars, edgeTargets, fallback, c)) < 0 && fallback != ROOT) {
+                    fallback = failure[fallback];
+                }
+                failure[target] = next >= 0 && next != target ? next : ROOT;
+                queue.add(target);
+            }
+        }
+
+        return new SkillMatcher(edgeChars, edgeTargets, failure, outputs,
+                names.toArray(new String[0]), lengths.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Loads a dictionary with one skill per line: {@code Canonical Name|alias|alias}.
+     * Blank lines and lines starting with '#' are ignored.
+     */
+    public static SkillMatcher load(InputStream in) throws IOException {
+        Map<String, String> patterns = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] forms = line.split("\\|");
+                String canonical = forms[0].trim();
+                for (String form : forms) {
+                    patterns.putIfAbsent(form.trim(), canonical);
+                }
+            }
+        }
+        return compile(patterns);
+    }
+
+    /** Number of surface forms (canonical names and aliases) in the dictionary. */
+    public int size() {
+        return canonicalNames.length;
+    }
+
+    /** Canonical names of the skills found in the text, in order of first appearance. */
+    public Set<String> findAll(CharSequence text) {
+        Scanner scanner = newScanner();
+        scanner.feed(text);
+        return scanner.finish();
+    }
+
+    public Scanner newScanner() {
+        return new Scanner();
+    }
+
+    private static int step(char[][] edgeChars, int[][] edgeTargets, int state, char c) {
+        int i = Arrays.binarySearch(edgeChars[state], c);
+        return i >= 0 ? edgeTargets[state][i] : -1;
+    }
+
+    private static String normalize(String pattern) {
+        StringBuilder sb = new StringBuilder(pattern.length());
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (sb.length() > 0 && sb.charAt(sb.length() - 1) != ' ') sb.append(' ');
+            } else {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        int end = sb.length();
+        while (end > 0 && sb.charAt(end - 1) == ' ') end--;
+        return sb.substring(0, end);
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#';
+    }
+
+    /**
+     * Incremental scan over one text. Not thread-safe; {@link #finish()} must be called
+     * once all text has been fed, since a match at the very end is only confirmed then.
+     */
+    public final class Scanner {
+        // the last (maxPatternLength + 1) normalized characters, to check the char before a match
+        private final char[] recent = new char[maxPatternLength + 1];
+        private long position; // number of normalized characters consumed
+        private int state = ROOT;
+        private boolean lastWasSpace = true;
+        private int[] pending = new int[0]; // matches ending at the previous char, awaiting the next one
+        private final Set<String> found = new LinkedHashSet<>();
+
+        public void feed(CharSequence text) {
+            for (int i = 0; i < text.length(); i++) accept(text.charAt(i));
+        }
+
+        public void feed(char[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) accept(buffer[i]);
+        }
+
+        /** Skills found so far, confirming matches that end at the end of the text. */
+        public Set<String> finish() {
+            confirmPending(' ');
+            return found;
+        }
+
+        private void accept(char raw) {
+            char c;
+            if (Character.isWhitespace(raw)) {
+                if (lastWasSpace) return;
+                c = ' ';
+                lastWasSpace = true;
+            } else {
+                c = Character.toLowerCase(raw);
+                lastWasSpace = false;
+            }
+            confirmPending(c);
+
+            int next;
+            while ((next = step(edgeChars, edgeTargets, state, c)) < 0 && state != ROOT) {
+                state = failure[state];
+            }
+            state = Math.max(next, ROOT);
+            recent[(int) (position % recent.length)] = c;
+            position++;
+
+            int[] ending = outputs[state];
+            if (ending.length == 0) return;
+            int kept = 0;
+            int[] candidates = new int[ending.length];
+            for (int pattern : ending) {
+                long before = position - patternLengths[pattern] - 1;
+                if (before < 0 || !isWordChar(recent[(int) (before % recent.length)])) {
+                    candidates[kept++] = pattern;
+                }
+            }
+            pending = kept == 0 ? pending : Arrays.copyOf(candidates, kept);
+        }
+
+        private void confirmPending(char next) {
+            if (pending.length == 0) return;
+            if (!isWordChar(next)) {
+                for (int pattern : pending) found.add(canonicalNames[pattern]);
+            }
+            pending = new int[0];
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.skillsync.skillsyncbackend.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable set of skill IDs (as handed out by the skill dictionary) stored as a
+ * packed bitset. Intersections and differences are popcount / AND-NOT loops over
+ * the backing words, so comparing two vectors does not allocate.
+ */
+public final class SkillVector {
+
+    public static final SkillVector EMPTY = new SkillVector(new long[0], 0);
+
+    private final long[] words;
+    private final int cardinality;
+
+    private SkillVector(long[] words, int cardinality) {
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    public static SkillVector of(int... skillIds) {
+        if (skillIds.length == 0) return EMPTY;
+        int max = 0;
+        for (int id : skillIds) {
+            if (id < 0) throw new IllegalArgumentException("Skill id must not be negative: " + id);
+            max = Math.max(max, id);
+        }
+        long[] words = new long[(max >>> 6) + 1];
+        for (int id : skillIds) {
+            words[id >>> 6] |= 1L << id;
+        }
+        int cardinality = 0;
+        for (long word : words) {
+            cardinality += Long.bitCount(word);
+        }
+        return new SkillVector(words, cardinality);
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    public boolean contains(int skillId) {
+        int word = skillId >>> 6;
+        return skillId >= 0 && word < words.length && (words[word] & (1L << skillId)) != 0;
+    }
+
+    /** Number of skills present in both vectors. */
+    public int intersectionCount(SkillVector other) {
+        long[] a = words;
+        long[] b = other.words;
+        int n = Math.min(a.length, b.length);
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    /** Number of skills in this vector that are not in {@code other}. */
+    public int andNotCount(SkillVector other) {
+        return cardinality - intersectionCount(other);
+    }
+
+    /** Calls {@code action} with every skill ID in this vector that is not in {@code other}, in ascending order. */
+    public void forEachAndNot(SkillVector other, IntConsumer action) {
+        long[] a = words;
+        long[] b = other.words;
+        for (int i = 0; i < a.length; i++) {
+            long word = i < b.length ? a[i] & ~b[i] : a[i];
+            while (word != 0) {
+                action.accept((i << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * Sum of {@code weights[id]} over the skills in this vector; skills past the end of
+     * {@code weights} count as {@code otherwise}. Does not allocate.
+     */
+    public double weightedSum(double[] weights, double otherwise) {
+        double sum = 0;
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                int id = (i << 6) + Long.numberOfTrailingZeros(word);
+                sum += id < weights.length ? weights[id] : otherwise;
+                word &= word - 1;
+            }
+        }
+        return sum;
+    }
+
+    /** Like {@link #weightedSum}, over the skills present in both vectors. */
+    public double weightedIntersection(SkillVector other, double[] weights, double otherwise) {
+        long[] a = words;
+        long[] b = other.words;
+        int n = Math.min(a.length, b.length);
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            long word = a[i] & b[i];
+            while (word != 0) {
+                int id = (i << 6) + Long.numberOfTrailingZeros(word);
+                sum += id < weights.length ? weights[id] : otherwise;
+                word &= word - 1;
+            }
+        }
+        return sum;
+    }
+
+    /** Calls {@code action} with every skill ID in this vector, in ascending order. */
+    public void forEach(IntConsumer action) {
+        forEachAndNot(EMPTY, action);
+    }
+
+    public int[] toArray() {
+        int[] ids = new int[cardinality];
+        int[] next = {0};
+        forEach(id -> ids[next[0]++] = id);
+        return ids;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SkillVector other)) return false;
+        int n = Math.max(words.length, other.words.length);
+        for (int i = 0; i < n; i++) {
+            long a = i < words.length ? words[i] : 0L;
+            long b = i < other.words.length ? other.words[i] : 0L;
+            if (a != b) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int last = words.length;
+        while (last > 0 && words[last - 1] == 0) last--;
+        return Arrays.hashCode(Arrays.copyOf(words, last));
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,89 @@
+package com.skillsync.skillsyncbackend.util;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Small concurrent cache whose entries expire a fixed time after they were loaded.
+ * When it grows past its maximum size, expired entries are dropped first and then
+ * arbitrary ones, so it never holds more than about {@code maxSize} entries.
+ * Absent values (loader returned empty) are cached too.
+ */
+public class TtlCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSize;
+
+    public TtlCache(Duration ttl, int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Cached value for the key, calling the loader if there is none or it has expired.
+     * Concurrent misses for the same key may each call the loader.
+     */
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        long now = System.nanoTime();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && now - entry.expiresAt < 0) {
+            return entry.value;
+        }
+        Optional<V> value = loader.apply(key);
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(key, new Entry<>(value, now + ttlNanos));
+        return value;
+    }
+
+    /** The cached value, if there is one that has not expired; never calls a loader. */
+    public Optional<V> getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null && System.nanoTime() - entry.expiresAt < 0 ? entry.value : Optional.empty();
+    }
+
+    public void put(K key, V value) {
+        long now = System.nanoTime();
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(key, new Entry<>(Optional.of(value), now + ttlNanos));
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(e -> now - e.expiresAt >= 0);
+        Iterator<K> keys = entries.keySet().iterator();
+        while (entries.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static class Entry<V> {
+        private final Optional<V> value;
+        private final long expiresAt;
+
+        Entry(Optional<V> value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
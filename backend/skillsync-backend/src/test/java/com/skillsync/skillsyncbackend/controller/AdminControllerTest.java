@@ -3,7 +3,9 @@ package com.skillsync.skillsyncbackend.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.skillsync.skillsyncbackend.model.JobPosting;
 import com.skillsync.skillsyncbackend.model.User;
+import com.jayway.jsonpath.JsonPath;
 import com.skillsync.skillsyncbackend.repository.JobPostingRepository;
+import com.skillsync.skillsyncbackend.repository.ResumeRepository;
 import com.skillsync.skillsyncbackend.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,11 +17,17 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -29,7 +37,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
     "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1",
     "spring.datasource.driver-class-name=org.h2.Driver",
     "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
-    "spring.jpa.hibernate.ddl-auto=create-drop"
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "skillsync.storage.dir=target/test-storage"
 })
 @AutoConfigureMockMvc
 public class AdminControllerTest {
@@ -43,6 +52,9 @@ public class AdminControllerTest {
     @Autowired
     private JobPostingRepository jobPostingRepository;
 
+    @Autowired
+    private ResumeRepository resumeRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -50,6 +62,7 @@ public class AdminControllerTest {
     public void setup() {
         userRepository.deleteAll();
         jobPostingRepository.deleteAll();
+        resumeRepository.deleteAll();
 
         userRepository.saveAll(List.of(
                 new User("alice", "pass", "ROLE_USER", "alice@example.com"),
@@ -107,4 +120,46 @@ public class AdminControllerTest {
         mockMvc.perform(delete("/api/admin/jobs/" + j.getId()))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    public void testBulkImportResumesFromZip() throws Exception {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(archive)) {
+            addEntry(zip, "partner/ann.txt", "Java and Spring Boot developer");
+            addEntry(zip, "partner/ben.txt", "Python, Pandas and SQL");
+            addEntry(zip, "partner/broken.pdf", "%PDF-1.4 truncated");
+            addEntry(zip, "partner/notes.md", "skipped");
+        }
+        mockMvc.perform(post("/api/admin/resumes/import").contentType("application/zip"))
+                .andExpect(status().isBadRequest());
+        String accepted = mockMvc.perform(post("/api/admin/resumes/import").param("name", "partner.zip")
+                        .contentType("application/zip").content(archive.toByteArray()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.filename").value("partner.zip"))
+                .andReturn().getResponse().getContentAsString();
+        String importId = JsonPath.read(accepted, "$.id");
+
+        String body = null;
+        String state = "QUEUED";
+        for (int attempt = 0; attempt < 100 && (state.equals("QUEUED") || state.equals("RUNNING")); attempt++) {
+            Thread.sleep(100);
+            body = mockMvc.perform(get("/api/admin/resumes/import/" + importId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            state = JsonPath.read(body, "$.status");
+        }
+
+        assertEquals("COMPLETED", state);
+        assertEquals(3, JsonPath.<Integer>read(body, "$.total"));
+        assertEquals(2, JsonPath.<Integer>read(body, "$.saved"));
+        assertEquals(List.of("partner/broken.pdf"), JsonPath.read(body, "$.failures[*].file"));
+        assertEquals(2, resumeRepository.count());
+    }
+
+    private static void addEntry(ZipOutputStream zip, String name, String content) throws Exception {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
 }
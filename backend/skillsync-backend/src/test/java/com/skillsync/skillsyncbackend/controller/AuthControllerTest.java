@@ -0,0 +1,93 @@
+package com.skillsync.skillsyncbackend.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.skillsync.skillsyncbackend.model.User;
+import com.skillsync.skillsyncbackend.repository.UserRepository;
+import com.skillsync.skillsyncbackend.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "skillsync.storage.dir=target/test-storage"
+})
+@AutoConfigureMockMvc
+public class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    public void setup() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testLoginTokenCarriesUserIdAndAuthenticates() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"frank\",\"password\":\"secret\",\"email\":\"frank@example.com\"}"))
+                .andExpect(status().isOk());
+        String login = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"frank\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = JsonPath.read(login, "$.token");
+
+        User frank = userRepository.findByUsername("frank").orElseThrow();
+        assertEquals(frank.getId(), JwtUtil.extractUserId(jwtUtil.parseToken(token)));
+        // authenticated, but no resume uploaded yet
+        mockMvc.perform(get("/api/resumes/my").header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testRejectsTamperedTokensAndDeletedUsers() throws Exception {
+        User grace = userRepository.save(new User("grace", "pass", "ROLE_USER", "grace@example.com"));
+        String token = jwtUtil.generateToken(grace.getId(), "grace", "ROLE_USER");
+        String forged = jwtUtil.generateToken(grace.getId(), "mallory", "ROLE_USER");
+
+        mockMvc.perform(get("/api/resumes/my").header("Authorization", "Bearer " + token.substring(0, token.length() - 2)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/resumes/my").header("Authorization", "Bearer " + forged))
+                .andExpect(status().isForbidden());
+
+        // accepted while grace exists, so her state is cached when she is deleted
+        mockMvc.perform(get("/api/resumes/my").header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+        User admin = userRepository.save(new User("admin", "pass", "ROLE_ADMIN", "admin@example.com"));
+        String adminToken = jwtUtil.generateToken(admin.getId(), "admin", "ROLE_ADMIN");
+        mockMvc.perform(delete("/api/admin/users/" + grace.getId()).header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        // her token is still signed and unexpired, but she is gone
+        mockMvc.perform(get("/api/resumes/my").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+
+        String stranger = jwtUtil.generateToken(grace.getId() + 1000, "nobody", "ROLE_USER");
+        mockMvc.perform(get("/api/resumes/my").header("Authorization", "Bearer " + stranger))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,92 @@
+package com.skillsync.skillsyncbackend.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.skillsync.skillsyncbackend.model.User;
+import com.skillsync.skillsyncbackend.repository.UserRepository;
+import com.skillsync.skillsyncbackend.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Base64;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "skillsync.storage.dir=target/test-storage"
+})
+@AutoConfigureMockMvc
+public class AvatarControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    public void setup() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testAvatarIsServedFromItsOwnCacheableUrl() throws Exception {
+        User kate = userRepository.save(new User("kate", "pass", "ROLE_USER", "kate@example.com"));
+        String token = "Bearer " + jwtUtil.generateToken(kate.getId(), "kate", "ROLE_USER");
+        byte[] image = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 1, 2, 3};
+
+        mockMvc.perform(put("/api/profile").header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"avatarDataUrl\":\"data:image/png;base64," + Base64.getEncoder().encodeToString(image) + "\"}"))
+                .andExpect(status().isOk());
+        String profile = mockMvc.perform(get("/api/profile").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.avatarDataUrl").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+        String avatarUrl = JsonPath.read(profile, "$.avatarUrl");
+
+        String etag = mockMvc.perform(get(avatarUrl))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(image))
+                .andExpect(header().string("Cache-Control", containsString("immutable")))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get(avatarUrl).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/profile").header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"avatarDataUrl\":\"data:text/html;base64,PGgxPg==\"}"))
+                .andExpect(status().isBadRequest());
+        // an image type on the outside, HTML on the inside
+        mockMvc.perform(put("/api/profile").header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"avatarDataUrl\":\"data:image/png;base64,PGgxPg==\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/api/profile").header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"avatarDataUrl\":\"data:image/gif;base64," + Base64.getEncoder().encodeToString(image) + "\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(avatarUrl))
+                .andExpect(content().contentType("image/png"));
+    }
+}
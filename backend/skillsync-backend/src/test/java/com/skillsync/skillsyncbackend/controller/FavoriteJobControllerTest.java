@@ -0,0 +1,84 @@
+package com.skillsync.skillsyncbackend.controller;
+
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import com.skillsync.skillsyncbackend.model.User;
+import com.skillsync.skillsyncbackend.repository.JobPostingRepository;
+import com.skillsync.skillsyncbackend.repository.UserRepository;
+import com.skillsync.skillsyncbackend.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "skillsync.storage.dir=target/test-storage"
+})
+@AutoConfigureMockMvc
+public class FavoriteJobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobPostingRepository jobPostingRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    public void setup() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testTokenPrincipalIdentifiesCallerInHandlers() throws Exception {
+        User heidi = userRepository.save(new User("heidi", "pass", "ROLE_USER", "heidi@example.com"));
+        String token = "Bearer " + jwtUtil.generateToken(heidi.getId(), "heidi", "ROLE_USER");
+        JobPosting job = jobPostingRepository.save(new JobPosting("Data Engineer", "Acme", "Pipelines", List.of("Python"), "http://example.com/de", null));
+
+        mockMvc.perform(post("/api/favorites/toggle/" + job.getId()).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.favorite").value(true));
+        mockMvc.perform(get("/api/favorites").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Data Engineer"));
+        mockMvc.perform(post("/api/favorites/toggle/" + job.getId()).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.favorite").value(false));
+    }
+
+    @Test
+    public void testListingRejectsBadPageParametersAndCapsTheSize() throws Exception {
+        User ivy = userRepository.save(new User("ivy", "pass", "ROLE_USER", "ivy@example.com"));
+        String token = "Bearer " + jwtUtil.generateToken(ivy.getId(), "ivy", "ROLE_USER");
+
+        mockMvc.perform(get("/api/favorites?size=0").header("Authorization", token))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/favorites?page=-1").header("Authorization", token))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/favorites?size=100000").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "0"));
+    }
+}
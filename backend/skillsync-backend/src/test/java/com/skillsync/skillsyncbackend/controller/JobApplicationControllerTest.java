@@ -0,0 +1,106 @@
+package com.skillsync.skillsyncbackend.controller;
+
+import com.skillsync.skillsyncbackend.model.JobApplication;
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import com.skillsync.skillsyncbackend.model.Resume;
+import com.skillsync.skillsyncbackend.model.User;
+import com.skillsync.skillsyncbackend.repository.JobApplicationRepository;
+import com.skillsync.skillsyncbackend.repository.JobPostingRepository;
+import com.skillsync.skillsyncbackend.repository.ResumeRepository;
+import com.skillsync.skillsyncbackend.repository.UserRepository;
+import com.skillsync.skillsyncbackend.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "skillsync.storage.dir=target/test-storage"
+})
+@AutoConfigureMockMvc
+public class JobApplicationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobPostingRepository jobPostingRepository;
+
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    public void setup() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testApplicationListingsExposeOnlyListingFields() throws Exception {
+        User recruiter = userRepository.save(new User("ivan", "pass", "ROLE_RECRUITER", "ivan@example.com"));
+        User applicant = userRepository.save(new User("judy", "pass", "ROLE_USER", "judy@example.com"));
+        JobPosting job = jobPostingRepository.save(new JobPosting("QA Engineer", "Acme", "Testing", List.of("Java"),
+                "http://example.com/qa", "Remote", "Full-time", 90000.0, recruiter.getId()));
+        Resume resume = resumeRepository.save(new Resume("judy.pdf", "Java testing", List.of("Java"), applicant.getId(), null, null, null));
+        JobApplication application = jobApplicationRepository.save(new JobApplication(applicant, job, "APPLIED"));
+        try {
+            String recruiterToken = "Bearer " + jwtUtil.generateToken(recruiter.getId(), "ivan", "ROLE_RECRUITER");
+            mockMvc.perform(get("/api/applications/job/" + job.getId()).header("Authorization", recruiterToken))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Total-Count", "1"))
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].status").value("APPLIED"))
+                    .andExpect(jsonPath("$[0].user.username").value("judy"))
+                    .andExpect(jsonPath("$[0].user.resumeId").value(resume.getId()))
+                    .andExpect(jsonPath("$[0].user.password").doesNotExist())
+                    .andExpect(jsonPath("$[0].jobPosting").doesNotExist());
+
+            String applicantToken = "Bearer " + jwtUtil.generateToken(applicant.getId(), "judy", "ROLE_USER");
+            mockMvc.perform(get("/api/applications").header("Authorization", applicantToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].jobPosting.title").value("QA Engineer"))
+                    .andExpect(jsonPath("$[0].jobPosting.description").doesNotExist())
+                    .andExpect(jsonPath("$[0].user").doesNotExist());
+            mockMvc.perform(get("/api/applications?page=1&size=1").header("Authorization", applicantToken))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Total-Count", "1"))
+                    .andExpect(jsonPath("$", hasSize(0)));
+            mockMvc.perform(get("/api/applications?size=0").header("Authorization", applicantToken))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/applications?page=-1").header("Authorization", applicantToken))
+                    .andExpect(status().isBadRequest());
+            // capped rather than refused
+            mockMvc.perform(get("/api/applications?size=100000").header("Authorization", applicantToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)));
+        } finally {
+            jobApplicationRepository.delete(application);
+            resumeRepository.delete(resume);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.skillsync.skillsyncbackend.controller;
+
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import com.skillsync.skillsyncbackend.model.Resume;
+import com.skillsync.skillsyncbackend.model.User;
+import com.skillsync.skillsyncbackend.repository.JobPostingRepository;
+import com.skillsync.skillsyncbackend.repository.ResumeRepository;
+import com.skillsync.skillsyncbackend.repository.UserRepository;
+import com.skillsync.skillsyncbackend.service.JobCatalog;
+import com.skillsync.skillsyncbackend.service.JobSearchIndex;
+import com.skillsync.skillsyncbackend.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "skillsync.storage.dir=target/test-storage"
+})
+@AutoConfigureMockMvc
+public class JobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobPostingRepository jobPostingRepository;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JobCatalog jobCatalog;
+
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private Long resumeId;
+    private JobPosting backend;
+    private JobPosting frontend;
+
+    @BeforeEach
+    public void setup() {
+        resumeRepository.deleteAll();
+        jobPostingRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User candidate = userRepository.save(new User("carol", "pass", "ROLE_USER", "carol@example.com"));
+        resumeId = resumeRepository.save(new Resume("cv.pdf", "", List.of("Java", "SQL"), candidate.getId(), null, null, null)).getId();
+        backend = jobPostingRepository.save(new JobPosting("Backend", "Acme", "desc", List.of("Java", "SQL"), "http://a", 1L));
+        frontend = jobPostingRepository.save(new JobPosting("Frontend", "Acme", "desc", List.of("React", "java"), "http://b", 1L));
+        // saved behind the catalog's back, without change events
+        jobCatalog.rebuild();
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    public void testMatchJobsForResumeStreamsNdjson() throws Exception {
+        MvcResult pending = mockMvc.perform(post("/api/jobs/match/resume/" + resumeId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"jobIds\":[" + backend.getId() + "," + frontend.getId() + "]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(body.contains("\"jobId\":" + backend.getId() + ",\"resumeId\":" + resumeId + ",\"matchPercentage\":100.0"));
+        assertTrue(body.contains("\"jobId\":" + frontend.getId() + ",\"resumeId\":" + resumeId + ",\"matchPercentage\":50.0"));
+    }
+
+    @Test
+    public void testGetJobsPagesWithCursor() throws Exception {
+        String first = mockMvc.perform(get("/api/jobs?limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(backend.getId()))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(first, "$.nextCursor");
+
+        mockMvc.perform(get("/api/jobs?limit=1&cursor=" + cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(frontend.getId()))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    public void testKeywordPagesKeepTheirRankingWhenPostingsChange() throws Exception {
+        jobSearchIndex.rebuild();
+        String first = mockMvc.perform(get("/api/jobs?keyword=acme&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(backend.getId()))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(first, "$.nextCursor");
+
+        // would now rank first, and changes every other posting's score
+        jobPostingRepository.save(new JobPosting("Acme Acme", "Acme", "Acme", List.of("Go"), "http://c", 1L));
+        jobSearchIndex.rebuild();
+        jobCatalog.rebuild();
+
+        mockMvc.perform(get("/api/jobs?keyword=acme&limit=1&cursor=" + cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(frontend.getId()))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+        // a cursor only continues the search it came from
+        mockMvc.perform(get("/api/jobs?keyword=backend&limit=1&cursor=" + cursor))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/jobs?limit=1&cursor=" + cursor))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetJobsReturnsFacetsOnlyWhenAskedFor() throws Exception {
+        mockMvc.perform(get("/api/jobs?limit=1"))
+                .andExpect(jsonPath("$.facets").doesNotExist());
+        mockMvc.perform(get("/api/jobs?limit=1&facets=true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.facets.location", hasSize(0)))
+                .andExpect(jsonPath("$.facets.salary", hasSize(5)));
+    }
+
+    @Test
+    public void testGetJobsRejectsMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/jobs?cursor=%%%"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    public void testGetJobsIsNotModifiedUntilTheCatalogChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/jobs"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            mockMvc.perform(get("/api/jobs?keyword=backend").header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", etag));
+            assertEquals(0, statistics.getPrepareStatementCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        mockMvc.perform(delete("/api/admin/jobs/" + frontend.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/jobs").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    public void testListingQueryCountDoesNotGrowWithPageSize() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            jobPostingRepository.save(new JobPosting("Job " + i, "Acme", "desc", List.of("Java", "Skill " + i), "http://j" + i, 1L));
+        }
+        jobCatalog.rebuild();
+        // served from the in-memory catalog
+        assertEquals(0, statementsFor("/api/jobs?limit=3", 3));
+        assertEquals(0, statementsFor("/api/jobs?limit=30", 30));
+        assertEquals(statementsFor("/api/admin/jobs?page=0&size=3", 3), statementsFor("/api/admin/jobs?page=0&size=30", 30));
+    }
+
+    @Test
+    public void testImportUpsertsNdjsonByUrlInBatchedStatements() throws Exception {
+        User recruiter = userRepository.save(new User("rita", "pass", "ROLE_RECRUITER", "rita@example.com"));
+        String token = "Bearer " + jwtUtil.generateToken(recruiter.getId(), "rita", "ROLE_RECRUITER");
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            ndjson.append("{\"title\":\"Engineer ").append(i).append("\",\"company\":\"Initech\",")
+                    .append("\"description\":\"Java and SQL\",\"url\":\"http://import/").append(i).append("\"}\n");
+        }
+        ndjson.append("{not json\n")
+                .append("{\"company\":\"Initech\"}\n")
+                // someone else's posting
+                .append("{\"title\":\"Backend\",\"url\":\"http://a\"}\n");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            mockMvc.perform(post("/api/jobs/import").header("Authorization", token)
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .content(ndjson.toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.received").value(303))
+                    .andExpect(jsonPath("$.created").value(300))
+                    .andExpect(jsonPath("$.failed").value(3))
+                    .andExpect(jsonPath("$.failures", hasSize(3)));
+            // 300 postings and 600 skill rows, sent as a few batches rather than one statement each
+            assertEquals(300, statistics.getEntityInsertCount());
+            assertTrue(statistics.getPrepareStatementCount() < 20, "statements: " + statistics.getPrepareStatementCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+        assertEquals(302, jobCatalog.snapshot().size());
+
+        mockMvc.perform(post("/api/jobs/import").header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"title\":\"Engineer 0\",\"company\":\"Initech\",\"description\":\"Java and SQL\",\"url\":\"http://import/0\"}\n"
+                                + "{\"title\":\"Engineer 1\",\"company\":\"Initech\",\"description\":\"Java and SQL\",\"url\":\"http://import/1\",\"salary\":90000}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(0))
+                .andExpect(jsonPath("$.unchanged").value(1))
+                .andExpect(jsonPath("$.updated").value(1));
+        assertEquals(302, jobPostingRepository.count());
+        JobPosting updated = jobPostingRepository.findFirstByUrl("http://import/1").orElseThrow();
+        assertEquals(90000.0, updated.getSalary());
+        assertEquals(recruiter.getId(), updated.getRecruiterId());
+    }
+
+    private long statementsFor(String url, int expectedRows) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            String body = mockMvc.perform(get(url))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            assertEquals(expectedRows, JsonPath.<List<?>>read(body, "$.content[*].skills").size());
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.skillsync.skillsyncbackend.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.skillsync.skillsyncbackend.model.User;
+import com.skillsync.skillsyncbackend.repository.ResumeRepository;
+import com.skillsync.skillsyncbackend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "skillsync.storage.dir=target/test-storage"
+})
+@AutoConfigureMockMvc
+public class ResumeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @BeforeEach
+    public void setup() {
+        resumeRepository.deleteAll();
+        userRepository.deleteAll();
+        userRepository.save(new User("dave", "pass", "ROLE_USER", "dave@example.com"));
+        userRepository.save(new User("erin", "pass", "ROLE_USER", "erin@example.com"));
+    }
+
+    @Test
+    @WithMockUser(username = "dave", roles = {"USER"})
+    public void testUploadIsIngestedInTheBackground() throws Exception {
+        String body = awaitIngestion(upload("Backend developer: Java, Spring Boot and PostgreSQL."));
+
+        assertEquals("COMPLETED", JsonPath.read(body, "$.status"));
+        assertEquals(List.of("Java", "Spring", "Spring Boot", "PostgreSQL"), JsonPath.read(body, "$.skills"));
+        assertTrue(JsonPath.<Integer>read(body, "$.stageMillis.parse") >= 0);
+        assertEquals(1, resumeRepository.count());
+    }
+
+    @Test
+    @WithMockUser(username = "dave", roles = {"USER"})
+    public void testReuploadingTheSameFileSkipsParsing() throws Exception {
+        String text = "Data engineer: Python, Apache Spark and Airflow.";
+        String first = awaitIngestion(upload(text));
+        String second = awaitIngestion(upload(text));
+
+        assertEquals(false, JsonPath.read(first, "$.cacheHit"));
+        assertEquals(true, JsonPath.read(second, "$.cacheHit"));
+        assertEquals(JsonPath.<String>read(first, "$.contentHash"), JsonPath.read(second, "$.contentHash"));
+        assertEquals(JsonPath.<List<String>>read(first, "$.skills"), JsonPath.read(second, "$.skills"));
+        assertEquals(1, resumeRepository.count());
+    }
+
+    @Test
+    @WithMockUser(username = "erin", roles = {"USER"})
+    public void testUnknownIngestionIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/resumes/ingestions/does-not-exist"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String upload(String text) throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "cv.txt", "text/plain", text.getBytes(StandardCharsets.UTF_8));
+        String accepted = mockMvc.perform(multipart("/api/resumes/upload").file(file))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(accepted, "$.ingestionId");
+    }
+
+    private String awaitIngestion(String ingestionId) throws Exception {
+        String body = null;
+        String state = "QUEUED";
+        for (int attempt = 0; attempt < 100 && (state.equals("QUEUED") || state.equals("PROCESSING")); attempt++) {
+            Thread.sleep(100);
+            body = mockMvc.perform(get("/api/resumes/ingestions/" + ingestionId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            state = JsonPath.read(body, "$.status");
+        }
+        return body;
+    }
+}
@@ -0,0 +1,118 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.event.JobPostingChangedEvent;
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import com.skillsync.skillsyncbackend.repository.JobPostingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class JobCatalogTest {
+
+    private static final JobCatalog.Filters NONE = new JobCatalog.Filters(null, null, null);
+
+    private final SkillDictionary dictionary = new SkillDictionary();
+    private JobCatalog catalog;
+
+    @BeforeEach
+    public void setup() {
+        catalog = new JobCatalog(null, dictionary);
+        catalog.onJobPostingChanged(JobPostingChangedEvent.saved(posting(3L, "Remote", "Contract", null)));
+        catalog.onJobPostingChanged(JobPostingChangedEvent.saved(posting(1L, "New York", "Full-time", 100000.0)));
+        catalog.onJobPostingChanged(JobPostingChangedEvent.saved(posting(2L, "Remote", "Full-time", 90000.0)));
+    }
+
+    @Test
+    public void testPagesInIdOrderAfterTheGivenId() {
+        assertEquals(List.of(1L, 2L), ids(catalog.snapshot().page(0, NONE, 2)));
+        assertEquals(List.of(2L, 3L), ids(catalog.snapshot().page(1, NONE, 10)));
+    }
+
+    @Test
+    public void testFiltersMatchLikeTheSqlTheyReplace() {
+        assertEquals(List.of(2L, 3L), ids(catalog.snapshot().page(0, new JobCatalog.Filters("REM", null, null), 10)));
+        assertEquals(List.of(1L, 2L), ids(catalog.snapshot().page(0, new JobCatalog.Filters(null, "full", null), 10)));
+        // no salary never passes a minimum
+        assertEquals(List.of(1L), ids(catalog.snapshot().page(0, new JobCatalog.Filters(null, null, 95000.0), 10)));
+    }
+
+    @Test
+    public void testWritesReplaceTheSnapshotInsteadOfChangingIt() {
+        JobCatalog.Snapshot before = catalog.snapshot();
+        catalog.onJobPostingChanged(JobPostingChangedEvent.saved(posting(2L, "Berlin", "Full-time", 90000.0)));
+        catalog.onJobPostingChanged(JobPostingChangedEvent.deleted(1L));
+
+        assertEquals(List.of(1L, 2L, 3L), ids(before.page(0, NONE, 10)));
+        assertEquals("Remote", before.get(2L).getPosting().getLocation());
+        assertEquals(List.of(2L, 3L), ids(catalog.snapshot().page(0, NONE, 10)));
+        assertEquals("Berlin", catalog.snapshot().get(2L).getPosting().getLocation());
+        assertNull(catalog.snapshot().get(1L));
+    }
+
+    @Test
+    public void testFacetsCountEachFacetWithoutItsOwnFilter() {
+        catalog.onJobPostingChanged(JobPostingChangedEvent.saved(posting(4L, "remote", "Full-time", 160000.0)));
+        JobCatalog.Facets facets = catalog.snapshot().facets(null, new JobCatalog.Filters("remote", "full", null));
+
+        // locations among full-time postings
+        assertEquals(List.of("Remote=2", "New York=1"), counts(facets.getLocation()));
+        // job types among remote postings
+        assertEquals(List.of("Full-time=2", "Contract=1"), counts(facets.getJobType()));
+        // salaries of remote full-time postings
+        assertEquals(List.of(0, 0, 1, 0, 1), facets.getSalary().stream().map(JobCatalog.SalaryRange::getCount).collect(Collectors.toList()));
+        assertNull(facets.getSalary().get(4).getMax());
+
+        // restricted to keyword matches
+        facets = catalog.snapshot().facets(List.of(1L, 3L), new JobCatalog.Filters(null, null, 50000.0));
+        assertEquals(List.of("New York=1"), counts(facets.getLocation()));
+        // posting 3 has no salary
+        assertEquals(List.of("Full-time=1"), counts(facets.getJobType()));
+    }
+
+    @Test
+    public void testSkillsAreInterned() {
+        JobCatalog.Entry entry = catalog.snapshot().get(1L);
+        assertEquals(dictionary.encodeKnown(List.of("java", "SQL")), entry.getSkills());
+    }
+
+    @Test
+    public void testRebuildKeepsChangesMadeWhileItReads() {
+        JobCatalog[] rebuilding = new JobCatalog[1];
+        // a table read during which one posting is deleted and another one added
+        JobPostingRepository repository = (JobPostingRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{JobPostingRepository.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("findAll") || args != null) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    List<JobPosting> table = List.of(posting(1L, "Remote", null, null), posting(2L, "Remote", null, null));
+                    rebuilding[0].onJobPostingChanged(JobPostingChangedEvent.deleted(1L));
+                    rebuilding[0].onJobPostingChanged(JobPostingChangedEvent.saved(posting(4L, "Berlin", null, null)));
+                    return table;
+                });
+        rebuilding[0] = new JobCatalog(repository, dictionary);
+
+        rebuilding[0].rebuild();
+
+        assertEquals(List.of(2L, 4L), ids(rebuilding[0].snapshot().page(0, NONE, 10)));
+    }
+
+    private static JobPosting posting(Long id, String location, String jobType, Double salary) {
+        JobPosting posting = new JobPosting("Job " + id, "Acme", "desc", List.of("Java", "SQL"), "http://", location, jobType, salary, 1L);
+        posting.setId(id);
+        return posting;
+    }
+
+    private static List<String> counts(List<JobCatalog.FacetValue> values) {
+        return values.stream().map(v -> v.getValue() + "=" + v.getCount()).collect(Collectors.toList());
+    }
+
+    private static List<Long> ids(List<JobCatalog.Entry> entries) {
+        return entries.stream().map(JobCatalog.Entry::getId).collect(Collectors.toList());
+    }
+}
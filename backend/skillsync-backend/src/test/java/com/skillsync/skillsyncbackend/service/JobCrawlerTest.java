@@ -0,0 +1,353 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.config.CrawlerProperties;
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import com.skillsync.skillsyncbackend.repository.CrawledPageRepository;
+import com.skillsync.skillsyncbackend.repository.JobPostingRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "skillsync.storage.dir=target/test-storage"
+})
+public class JobCrawlerTest {
+
+    @Autowired
+    private JobPostingRepository jobPostingRepository;
+
+    @Autowired
+    private CrawledPageRepository crawledPageRepository;
+
+    @Autowired
+    private WriteQueue writeQueue;
+
+    @Autowired
+    private JobImportService jobImportService;
+
+    @Autowired
+    private JobCatalog jobCatalog;
+
+    @Autowired
+    private JobDeduplicator jobDeduplicator;
+
+    // a job board that answers conditional requests, like most real ones
+    private final Map<String, String> pages = new ConcurrentHashMap<>();
+    private final Map<String, String> redirects = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private final Queue<String> hosts = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> starts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile long responseDelayMillis;
+    private ExecutorService boardThreads;
+    private HttpServer board;
+    private CrawlerProperties properties;
+    private JobCrawler crawler;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        jobPostingRepository.deleteAll();
+        crawledPageRepository.deleteAll();
+        jobCatalog.rebuild();
+        jobDeduplicator.rebuild();
+
+        board = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        board.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            hosts.add(exchange.getRequestHeaders().getFirst("Host"));
+            starts.add(System.nanoTime());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                serve(exchange);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        boardThreads = Executors.newCachedThreadPool();
+        board.setExecutor(boardThreads);
+        board.start();
+
+        pages.put("/jobs/1", listing(List.of(1, 2), "/jobs/2"));
+        pages.put("/jobs/2", listing(List.of(3), null));
+        pages.put("/postings/1", posting("Backend Engineer", "Acme", "$120,000 - $140,000", "Java and SQL"));
+        pages.put("/postings/2", posting("Frontend Engineer", "Acme", "90k", "React"));
+        pages.put("/postings/3", posting("Data Engineer", "Globex", "100,000", "Python"));
+
+        properties = new CrawlerProperties();
+        properties.setPerHostInterval(Duration.ZERO);
+        CrawlerProperties.Source source = new CrawlerProperties.Source();
+        source.setName("stub");
+        source.setUrl("http://127.0.0.1:" + board.getAddress().getPort() + "/jobs/1");
+        source.setItemSelector("li.job");
+        source.setNextPageSelector("a.next");
+        source.setFollowLinks(true);
+        source.getSelectors().setTitle("h1");
+        source.getSelectors().setCompany(".company");
+        source.getSelectors().setSalary(".salary");
+        source.getSelectors().setLocation(".location");
+        source.getSelectors().setDescription(".description");
+        properties.setSources(List.of(source));
+        crawler = new JobCrawler(properties, crawledPageRepository, writeQueue, jobImportService);
+    }
+
+    @AfterEach
+    public void teardown() {
+        crawler.shutdown();
+        board.stop(0);
+        boardThreads.shutdownNow();
+    }
+
+    @Test
+    public void testFirstCrawlUpsertsEveryPostingByUrl() {
+        JobCrawler.CrawlReport report = crawler.crawl();
+
+        assertEquals(0, report.getFailed(), report.getFailures().toString());
+        assertEquals(5, report.getPagesFetched());
+        assertEquals(3, report.getPostingsCreated());
+        List<JobPosting> postings = jobPostingRepository.findAll();
+        assertEquals(3, postings.size());
+        JobPosting backend = postings.stream().filter(p -> p.getUrl().endsWith("/postings/1")).findFirst().orElseThrow();
+        assertEquals("Backend Engineer", backend.getTitle());
+        assertEquals("Acme", backend.getCompany());
+        assertEquals(120000.0, backend.getSalary());
+        assertEquals(3, jobCatalog.snapshot().size());
+    }
+
+    @Test
+    public void testRecrawlOnlyDoesTheWorkOfWhatChanged() {
+        crawler.crawl();
+        requests.set(0);
+
+        JobCrawler.CrawlReport unchanged = crawler.crawl();
+        // both listing pages answer 304, so no posting page is requested at all
+        assertEquals(2, requests.get());
+        assertEquals(2, notModified.get());
+        assertEquals(0, unchanged.getPagesFetched());
+        assertEquals(0, unchanged.changed());
+
+        pages.put("/jobs/2", listing(List.of(3, 4), null));
+        pages.put("/postings/4", posting("Platform Engineer", "Globex", "150k", "Kubernetes"));
+        pages.put("/postings/3", posting("Data Engineer", "Globex", "110,000", "Python"));
+        requests.set(0);
+
+        JobCrawler.CrawlReport changed = crawler.crawl();
+        // page 1 (304), page 2, and the two postings on it
+        assertEquals(4, requests.get());
+        assertEquals(1, changed.getPostingsCreated());
+        assertEquals(1, changed.getPostingsUpdated());
+        assertEquals(4, jobPostingRepository.count());
+        JobPosting data = jobPostingRepository.findFirstByUrl(postingUrl(3)).orElseThrow();
+        assertEquals(110000.0, data.getSalary());
+        assertEquals(110000.0, jobCatalog.snapshot().get(data.getId()).getPosting().getSalary());
+        List<String> skills = jobCatalog.snapshot().get(data.getId()).getPosting().getSkills();
+        assertTrue(skills.contains("Python"), skills.toString());
+    }
+
+    @Test
+    public void testCopyOfAPostingFromAnotherUrlOnlyFillsInTheOriginal() {
+        crawler.crawl();
+        pages.put("/jobs/2", listing(List.of(3, 5), null));
+        pages.put("/postings/5", posting("Data engineer", "GLOBEX", "100,000", "Python")
+                .replace("</body>", "<p class=\"location\">Berlin</p></body>"));
+
+        JobCrawler.CrawlReport report = crawler.crawl();
+
+        assertEquals(0, report.getPostingsCreated());
+        assertEquals(1, report.getPostingsDuplicate());
+        assertEquals(1, report.getPostingsMerged());
+        assertEquals(3, jobPostingRepository.count());
+        JobPosting original = jobPostingRepository.findFirstByUrl(postingUrl(3)).orElseThrow();
+        assertEquals("Berlin", original.getLocation());
+        assertEquals("Berlin", jobCatalog.snapshot().get(original.getId()).getPosting().getLocation());
+    }
+
+    @Test
+    public void testSameRoleInAnotherCityIsANewPosting() {
+        crawler.crawl();
+        pages.put("/jobs/2", listing(List.of(3, 5, 6), null));
+        pages.put("/postings/5", posting("Data engineer", "GLOBEX", "100,000", "Python")
+                .replace("</body>", "<p class=\"location\">Berlin</p></body>"));
+        pages.put("/postings/6", posting("Data engineer", "GLOBEX", "100,000", "Python")
+                .replace("</body>", "<p class=\"location\">Munich</p></body>"));
+
+        JobCrawler.CrawlReport report = crawler.crawl();
+
+        // whichever city comes first fills in the original; the other is its own opening
+        assertEquals(1, report.getPostingsCreated());
+        assertEquals(1, report.getPostingsDuplicate());
+        assertEquals(1, report.getPostingsMerged());
+        assertEquals(4, jobPostingRepository.count());
+        List<String> locations = jobPostingRepository.findAll().stream()
+                .filter(p -> p.getCompany().equalsIgnoreCase("Globex"))
+                .map(JobPosting::getLocation)
+                .sorted()
+                .collect(Collectors.toList());
+        assertEquals(List.of("Berlin", "Munich"), locations);
+    }
+
+    @Test
+    public void testCopyOfARecruitersPostingLeavesItAlone() {
+        crawler.crawl();
+        JobPosting original = jobPostingRepository.findFirstByUrl(postingUrl(3)).orElseThrow();
+        original.setRecruiterId(7L);
+        jobPostingRepository.save(original);
+        pages.put("/jobs/2", listing(List.of(3, 5), null));
+        pages.put("/postings/5", posting("Data engineer", "GLOBEX", "100,000", "Python")
+                .replace("</body>", "<p class=\"location\">Berlin</p></body>"));
+
+        JobCrawler.CrawlReport report = crawler.crawl();
+
+        assertEquals(0, report.getPostingsCreated());
+        assertEquals(1, report.getPostingsDuplicate());
+        assertEquals(0, report.getPostingsMerged());
+        assertNull(jobPostingRepository.findFirstByUrl(postingUrl(3)).orElseThrow().getLocation());
+    }
+    @Test
+    public void testRequestsToAHostAreSpacedAndLimited() {
+        properties.setPerHostConcurrency(2);
+        properties.setPerHostInterval(Duration.ofMillis(100));
+        restartCrawler();
+        pages.put("/jobs/1", listing(List.of(1, 2, 3, 4), null));
+        pages.put("/postings/4", posting("Platform Engineer", "Globex", "150k", "Kubernetes"));
+        responseDelayMillis = 250;
+
+        JobCrawler.CrawlReport report = crawler.crawl();
+
+        assertEquals(0, report.getFailed(), report.getFailures().toString());
+        assertEquals(5, requests.get());
+        assertEquals(2, maxInFlight.get());
+        List<Long> sorted = starts.stream().sorted().collect(Collectors.toList());
+        for (int i = 1; i < sorted.size(); i++) {
+            long gap = TimeUnit.NANOSECONDS.toMillis(sorted.get(i) - sorted.get(i - 1));
+            // spaced by the client; the server sees them with some jitter of its own
+            assertTrue(gap >= 60, "requests " + (i - 1) + " and " + i + " were " + gap + "ms apart");
+        }
+    }
+
+    @Test
+    public void testLinksAndRedirectsStayOnTheSourcesHost() {
+        String elsewhere = "http://localhost:" + board.getAddress().getPort() + "/postings/1";
+        pages.put("/jobs/2", listing(List.of(3), null)
+                .replace("</ul>", "<li class=\"job\"><a href=\"" + elsewhere + "\">Elsewhere</a></li></ul>"));
+        redirects.put("/postings/2", "/postings/8");
+        pages.put("/postings/8", posting("Frontend Engineer", "Acme", "90k", "React"));
+        redirects.put("/postings/3", elsewhere);
+
+        JobCrawler.CrawlReport report = crawler.crawl();
+
+        assertTrue(hosts.stream().noneMatch(host -> host.startsWith("localhost")), hosts.toString());
+        assertEquals(2, report.getPostingsCreated());
+        assertEquals(1, report.getFailed());
+        assertTrue(report.getFailures().get(0).contains("another host"), report.getFailures().toString());
+    }
+
+    @Test
+    public void testPagesOverTheSizeLimitAreNotRead() {
+        properties.setMaxPageSize(DataSize.ofBytes(1000));
+        restartCrawler();
+        pages.put("/postings/2", posting("Frontend Engineer", "Acme", "90k", "React ".repeat(500)));
+
+        JobCrawler.CrawlReport report = crawler.crawl();
+
+        assertEquals(1, report.getFailed());
+        assertTrue(report.getFailures().get(0).startsWith(postingUrl(2)), report.getFailures().toString());
+        assertEquals(2, report.getPostingsCreated());
+    }
+
+    private void restartCrawler() {
+        crawler.shutdown();
+        crawler = new JobCrawler(properties, crawledPageRepository, writeQueue, jobImportService);
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        if (responseDelayMillis > 0) {
+            try {
+                Thread.sleep(responseDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        String path = exchange.getRequestURI().getPath();
+        String redirect = redirects.get(path);
+        if (redirect != null) {
+            exchange.getResponseHeaders().set("Location", redirect);
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+            return;
+        }
+        String page = pages.get(path);
+        if (page == null) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        String etag = "\"" + Integer.toHexString(page.hashCode()) + "\"";
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = page.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private String postingUrl(int posting) {
+        return "http://127.0.0.1:" + board.getAddress().getPort() + "/postings/" + posting;
+    }
+
+    private static String listing(List<Integer> postings, String next) {
+        StringBuilder html = new StringBuilder("<html><body><ul>");
+        for (int id : postings) {
+            html.append("<li class=\"job\"><a href=\"/postings/").append(id).append("\">Posting ").append(id).append("</a></li>");
+        }
+        html.append("</ul>");
+        if (next != null) {
+            html.append("<a class=\"next\" href=\"").append(next).append("\">Next</a>");
+        }
+        return html.append("</body></html>").toString();
+    }
+
+    private static String posting(String title, String company, String salary, String description) {
+        return "<html><body><h1>" + title + "</h1><p class=\"company\">" + company + "</p>"
+                + "<p class=\"salary\">" + salary + "</p><div class=\"description\">" + description + "</div></body></html>";
+    }
+}
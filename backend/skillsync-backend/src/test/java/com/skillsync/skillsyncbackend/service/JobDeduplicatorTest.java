@@ -0,0 +1,76 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.event.JobPostingChangedEvent;
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class JobDeduplicatorTest {
+
+    private static final String DESCRIPTION = "We are looking for a backend engineer to design, build and operate "
+            + "the services behind our payments platform. You will work with Java, Spring Boot and PostgreSQL, "
+            + "own features from design to production, review code, mentor junior engineers and take part in "
+            + "the on-call rotation. Experience with Kafka, Docker and cloud infrastructure is a plus.";
+
+    private JobDeduplicator deduplicator;
+
+    @BeforeEach
+    public void setup() {
+        deduplicator = new JobDeduplicator(null);
+        deduplicator.onJobPostingChanged(JobPostingChangedEvent.saved(posting(1L, "Backend Engineer", "Acme", DESCRIPTION)));
+        deduplicator.onJobPostingChanged(JobPostingChangedEvent.saved(posting(2L, "Data Scientist", "Globex",
+                "Build models that forecast demand across our stores using Python, pandas and scikit-learn.")));
+    }
+
+    @Test
+    public void testFindsExactAndNearDuplicates() {
+        assertEquals(1L, find("Backend Engineer", "Acme", DESCRIPTION));
+        // reposted elsewhere with a reworded sentence and different formatting
+        assertEquals(1L, find("Backend engineer", "ACME", DESCRIPTION
+                .replace("take part in the on-call rotation", "join the on-call rotation")
+                .replace(",", " ,")));
+    }
+
+    @Test
+    public void testSameBoilerplateForAnotherRoleIsNotADuplicate() {
+        assertNull(find("Frontend Engineer", "Acme", DESCRIPTION));
+        assertNull(find("Backend Engineer", "Initech", DESCRIPTION));
+        assertNull(find("Data Scientist", "Acme", "Forecast demand with Python."));
+    }
+
+    @Test
+    public void testDeletedAndChangedPostingsLeaveTheIndex() {
+        deduplicator.onJobPostingChanged(JobPostingChangedEvent.saved(posting(1L, "Staff Engineer", "Acme", "Lead our platform team.")));
+        assertNull(find("Backend Engineer", "Acme", DESCRIPTION));
+        assertEquals(1L, find("Staff Engineer", "Acme", "Lead our platform team."));
+
+        deduplicator.onJobPostingChanged(JobPostingChangedEvent.deleted(1L));
+        assertNull(find("Staff Engineer", "Acme", "Lead our platform team."));
+    }
+
+    @Test
+    public void testOnlyFingerprintsWithinMaxDistanceMatch() {
+        JobDeduplicator empty = new JobDeduplicator(null);
+        empty.index(1L, 0L);
+        // one more bit than allowed, but still sharing bands with the indexed fingerprint
+        assertNull(empty.findDuplicate((1L << (JobDeduplicator.MAX_DISTANCE + 1)) - 1));
+        assertEquals(1L, empty.findDuplicate((1L << JobDeduplicator.MAX_DISTANCE) - 1));
+        empty.index(2L, 0L);
+        assertEquals(1L, empty.findDuplicate(1L));
+    }
+
+    private Long find(String title, String company, String description) {
+        return deduplicator.findDuplicate(JobDeduplicator.fingerprint(posting(null, title, company, description)));
+    }
+
+    private static JobPosting posting(Long id, String title, String company, String description) {
+        JobPosting posting = new JobPosting(title, company, description, List.of(), null, null);
+        posting.setId(id);
+        return posting;
+    }
+}
@@ -0,0 +1,138 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.event.JobPostingChangedEvent;
+import com.skillsync.skillsyncbackend.event.JobPostingsSavedEvent;
+import com.skillsync.skillsyncbackend.event.ResumeChangedEvent;
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.skillsync.skillsyncbackend.service.TestFixtures.posting;
+import static com.skillsync.skillsyncbackend.service.TestFixtures.resume;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JobFeedServiceTest {
+
+    private final SkillDictionary dictionary = new SkillDictionary();
+    private SkillWeights weights;
+    private JobRecommendationService recommendations;
+    private JobCatalog catalog;
+    private JobFeedService feeds;
+
+    @BeforeEach
+    public void setup() {
+        weights = new SkillWeights(null, null, dictionary);
+        recommendations = new JobRecommendationService(null, dictionary, weights);
+        catalog = new JobCatalog(null, dictionary);
+        feeds = feeds(100, Duration.ofHours(1));
+        save(posting(1L, "Java", "SQL"));
+        save(posting(2L, "Python"));
+        feeds.onResumeChanged(new ResumeChangedEvent(resume(10L, "Java")));
+        feeds.onResumeChanged(new ResumeChangedEvent(resume(11L, "Go")));
+    }
+
+    @Test
+    public void testNewPostingIsAddedToTheFeedsItMatches() {
+        save(posting(3L, "Java"));
+
+        List<JobRecommendationService.Recommendation> feed = feeds.feed(10L, 10).orElseThrow();
+        assertEquals(List.of(3L, 1L), ids(feed));
+        assertEquals(100.0, feed.get(0).getMatchPercentage(), 0.001);
+        assertEquals(List.of("SQL"), feed.get(1).getMissingSkills());
+        assertTrue(feeds.feed(11L, 10).orElseThrow().isEmpty());
+    }
+
+    @Test
+    public void testFeedFollowsEditsDeletesAndNewUploads() {
+        save(posting(3L, "Java"));
+        save(posting(1L, "Python"));
+        assertEquals(List.of(3L), ids(feeds.feed(10L, 10).orElseThrow()));
+
+        delete(3L);
+        assertTrue(feeds.feed(10L, 10).orElseThrow().isEmpty());
+
+        feeds.onResumeChanged(new ResumeChangedEvent(resume(10L, "Python")));
+        assertEquals(List.of(1L, 2L), ids(feeds.feed(10L, 10).orElseThrow()));
+    }
+
+    @Test
+    public void testFeedThatLosesPostingsIsRefilledInRankOrder() {
+        List<JobPosting> batch = new ArrayList<>();
+        for (long id = 100; id < 100 + 2 * JobFeedService.FEED_SIZE; id++) {
+            // half of them match fully, the rest by half
+            batch.add(id % 2 == 0 ? posting(id, "Java") : posting(id, "Java", "Kafka"));
+        }
+        saveAll(batch);
+        for (long id = 100; id < 100 + JobFeedService.FEED_SIZE; id += 2) {
+            delete(id);
+        }
+
+        List<JobRecommendationService.Recommendation> feed = feeds.feed(10L, JobFeedService.FEED_SIZE).orElseThrow();
+        List<Long> expected = recommendations.topMatches(List.of("Java"), JobFeedService.FEED_SIZE).stream()
+                .map(JobRecommendationService.ScoredJob::getJobId).collect(Collectors.toList());
+        assertEquals(JobFeedService.FEED_SIZE, feed.size());
+        assertEquals(expected, ids(feed));
+        assertEquals(100L + JobFeedService.FEED_SIZE, feed.get(0).getJob().getId());
+    }
+
+    @Test
+    public void testFeedsAreBoundedByCountAndIdleTime() {
+        feeds = feeds(2, Duration.ofHours(1));
+        feeds.onResumeChanged(new ResumeChangedEvent(resume(10L, "Java")));
+        feeds.onResumeChanged(new ResumeChangedEvent(resume(11L, "Go")));
+        feeds.feed(10L, 10);
+
+        feeds.onResumeChanged(new ResumeChangedEvent(resume(12L, "Python")));
+        // 11 was read longest ago
+        assertTrue(feeds.isMaterialized(10L));
+        assertFalse(feeds.isMaterialized(11L));
+        assertTrue(feeds.isMaterialized(12L));
+        // an evicted feed no longer follows the postings that matched it
+        save(posting(3L, "Go"));
+        assertFalse(feeds.isMaterialized(11L));
+
+        feeds = feeds(100, Duration.ZERO);
+        feeds.onResumeChanged(new ResumeChangedEvent(resume(10L, "Java")));
+        feeds.evictIdle();
+        assertFalse(feeds.isMaterialized(10L));
+        save(posting(4L, "Java"));
+        assertFalse(feeds.isMaterialized(10L));
+    }
+
+    private JobFeedService feeds(int maxFeeds, Duration idleTimeout) {
+        return new JobFeedService(null, dictionary, new SkillMatchingService(dictionary, weights),
+                recommendations, catalog, maxFeeds, idleTimeout);
+    }
+
+    private void save(JobPosting posting) {
+        JobPostingChangedEvent event = JobPostingChangedEvent.saved(posting);
+        recommendations.onJobPostingChanged(event);
+        catalog.onJobPostingChanged(event);
+        feeds.onJobPostingChanged(event);
+    }
+
+    private void saveAll(List<JobPosting> postings) {
+        JobPostingsSavedEvent event = new JobPostingsSavedEvent(postings);
+        recommendations.onJobPostingsSaved(event);
+        catalog.onJobPostingsSaved(event);
+        feeds.onJobPostingsSaved(event);
+    }
+
+    private void delete(Long id) {
+        JobPostingChangedEvent event = JobPostingChangedEvent.deleted(id);
+        recommendations.onJobPostingChanged(event);
+        catalog.onJobPostingChanged(event);
+        feeds.onJobPostingChanged(event);
+    }
+
+    private static List<Long> ids(List<JobRecommendationService.Recommendation> feed) {
+        return feed.stream().map(r -> r.getJob().getId()).collect(Collectors.toList());
+    }
+}
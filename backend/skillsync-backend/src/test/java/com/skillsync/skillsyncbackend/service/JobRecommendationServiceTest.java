@@ -0,0 +1,86 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.event.JobPostingChangedEvent;
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import com.skillsync.skillsyncbackend.util.SkillVector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.skillsync.skillsyncbackend.service.TestFixtures.posting;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JobRecommendationServiceTest {
+
+    private final SkillDictionary dictionary = new SkillDictionary();
+    private SkillWeights weights;
+    private JobRecommendationService service;
+
+    @BeforeEach
+    public void setup() {
+        weights = new SkillWeights(null, null, dictionary);
+        service = new JobRecommendationService(null, dictionary, weights);
+        save(posting(1L, "Java", "Spring Boot", "SQL", "Docker"));
+        save(posting(2L, "Java", "SQL"));
+        save(posting(3L, "Python", "Machine Learning"));
+        save(posting(4L, "java", "Kafka"));
+    }
+
+    @Test
+    public void testTopMatchesRankedByPercentage() {
+        List<JobRecommendationService.ScoredJob> top = service.topMatches(List.of("Java", " sql "), 10);
+        assertEquals(List.of(2L, 1L, 4L), ids(top));
+        assertEquals(100.0, top.get(0).getMatchPercentage(), 0.001);
+        assertEquals(50.0, top.get(1).getMatchPercentage(), 0.001);
+    }
+
+    @Test
+    public void testRareSkillsRankAboveCommonOnesAtTheSamePercentage() {
+        save(posting(5L, "Rust", "Go"));
+        save(posting(6L, "Scala", "Go"));
+        save(posting(7L, "Rust", "Elixir"));
+
+        // all half covered; 6 has the rarer Scala, and 7 misses the rarer Elixir where 5 misses Go
+        List<JobRecommendationService.ScoredJob> top = service.topMatches(List.of("Rust", "Scala"), 10);
+        assertEquals(List.of(6L, 5L, 7L), ids(top));
+        top.forEach(scored -> assertEquals(50.0, scored.getMatchPercentage(), 0.001));
+        SkillVector job = dictionary.encode(List.of("Scala", "Go"));
+        assertEquals(weights.current().score(dictionary.encode(List.of("Rust", "Scala")), job, weights.current().norm(job)),
+                top.get(0).getWeightedScore(), 0.001);
+    }
+
+    @Test
+    public void testTopMatchesRespectsLimitAndBreaksTiesById() {
+        List<JobRecommendationService.ScoredJob> top = service.topMatches(List.of("Java"), 2);
+        assertEquals(List.of(2L, 4L), ids(top));
+    }
+
+    @Test
+    public void testIndexFollowsUpdatesAndDeletes() {
+        save(posting(3L, "Java"));
+        delete(2L);
+
+        List<JobRecommendationService.ScoredJob> top = service.topMatches(List.of("Java", "SQL"), 10);
+        assertEquals(List.of(3L, 1L, 4L), ids(top));
+        assertTrue(service.topMatches(List.of("Python"), 10).isEmpty());
+    }
+
+    private void save(JobPosting posting) {
+        JobPostingChangedEvent event = JobPostingChangedEvent.saved(posting);
+        weights.onJobPostingChanged(event);
+        service.onJobPostingChanged(event);
+    }
+
+    private void delete(Long id) {
+        JobPostingChangedEvent event = JobPostingChangedEvent.deleted(id);
+        weights.onJobPostingChanged(event);
+        service.onJobPostingChanged(event);
+    }
+
+    private static List<Long> ids(List<JobRecommendationService.ScoredJob> scored) {
+        return scored.stream().map(JobRecommendationService.ScoredJob::getJobId).collect(Collectors.toList());
+    }
+}
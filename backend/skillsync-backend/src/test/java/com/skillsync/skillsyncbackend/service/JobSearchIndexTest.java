@@ -0,0 +1,54 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.event.JobPostingChangedEvent;
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JobSearchIndexTest {
+
+    private JobSearchIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new JobSearchIndex(null);
+        index.onJobPostingChanged(JobPostingChangedEvent.saved(posting(1L, "Java Developer", "Acme", "Build services in Java and Spring.")));
+        index.onJobPostingChanged(JobPostingChangedEvent.saved(posting(2L, "Data Engineer", "Globex", "Pipelines with Python; some Java.")));
+        index.onJobPostingChanged(JobPostingChangedEvent.saved(posting(3L, "Frontend Developer", "Initech", "JavaScript, React and C++ bindings.")));
+    }
+
+    @Test
+    public void testTitleMatchesRankAboveDescriptionMatches() {
+        assertEquals(List.of(1L, 2L), ids(index.search("java")).subList(0, 2));
+    }
+
+    @Test
+    public void testAllTermsMustMatchAndLastTermIsAPrefix() {
+        assertEquals(List.of(1L, 3L), ids(index.search("developer ja")));
+        assertEquals(List.of(3L), ids(index.search("c++")));
+        assertEquals(List.of(), ids(index.search("python react")));
+    }
+
+    @Test
+    public void testIndexFollowsUpdatesAndDeletes() {
+        index.onJobPostingChanged(JobPostingChangedEvent.saved(posting(2L, "Data Engineer", "Globex", "Pipelines with Python.")));
+        index.onJobPostingChanged(JobPostingChangedEvent.deleted(1L));
+        assertEquals(List.of(3L), ids(index.search("java")));
+        assertEquals(2, index.size());
+    }
+
+    private static JobPosting posting(Long id, String title, String company, String description) {
+        JobPosting posting = new JobPosting(title, company, description, List.of(), "http://", 1L);
+        posting.setId(id);
+        return posting;
+    }
+
+    private static List<Long> ids(List<JobSearchIndex.Hit> hits) {
+        return hits.stream().map(JobSearchIndex.Hit::getJobId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,64 @@
+package com.skillsync.skillsyncbackend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResumeParserTest {
+
+    private SkillExtractor skillExtractor;
+
+    @BeforeEach
+    public void setup() {
+        skillExtractor = new SkillExtractor(new ClassPathResource("skills.txt"));
+    }
+
+    @Test
+    public void testKeepsOnlyAnExcerptButScansTheWholeText() throws IOException {
+        ResumeParser parser = new ResumeParser(skillExtractor, DataSize.ofMegabytes(1), 1_000_000, 20, Duration.ofSeconds(10));
+        String text = "Java developer. " + "filler ".repeat(1000) + "Later moved to Kubernetes.";
+
+        ResumeParser.ParsedText parsed = parser.parse(stream(text));
+
+        assertEquals(20, parsed.getExcerpt().length());
+        assertEquals(List.of("Java", "Kubernetes"), parsed.getSkills());
+        assertFalse(parsed.isTruncated());
+    }
+
+    @Test
+    public void testStopsAtTheCharacterLimit() throws IOException {
+        ResumeParser parser = new ResumeParser(skillExtractor, DataSize.ofMegabytes(1), 100, 20, Duration.ofSeconds(10));
+        String text = "Python and SQL. " + "filler ".repeat(1000) + "Kubernetes.";
+
+        ResumeParser.ParsedText parsed = parser.parse(stream(text));
+
+        assertEquals(List.of("Python", "SQL"), parsed.getSkills());
+        assertEquals(100, parsed.getCharacters());
+        assertTrue(parsed.isTruncated());
+    }
+
+    @Test
+    public void testRejectsInputOverTheByteLimit() {
+        ResumeParser parser = new ResumeParser(skillExtractor, DataSize.ofBytes(1024), 1_000_000, 20, Duration.ofSeconds(10));
+
+        IOException error = assertThrows(IOException.class, () -> parser.parse(stream("Java ".repeat(1000))));
+        assertTrue(error.getMessage().startsWith("File is larger than"));
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
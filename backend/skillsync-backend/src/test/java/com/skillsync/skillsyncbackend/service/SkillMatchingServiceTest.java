@@ -0,0 +1,49 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.util.SkillVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SkillMatchingServiceTest {
+
+    private final SkillDictionary dictionary = new SkillDictionary();
+    // no postings or resumes counted, so every skill weighs the same
+    private final SkillMatchingService service = new SkillMatchingService(dictionary, new SkillWeights(null, null, dictionary));
+
+    @Test
+    public void testMatchIsCaseInsensitive() {
+        SkillMatchingService.MatchResult result = service.matchSkills(
+                List.of("java", "spring  boot"),
+                List.of("Java", "Spring Boot", "Kubernetes", "SQL"));
+        assertEquals(50.0, result.getMatchPercentage(), 0.001);
+        assertEquals(List.of("Kubernetes", "SQL"), result.getMissingSkills());
+    }
+
+    @Test
+    public void testEmptyJobSkillsScoreZero() {
+        SkillMatchingService.MatchResult result = service.matchSkills(List.of("Java"), List.of());
+        assertEquals(0.0, result.getMatchPercentage(), 0.001);
+        assertEquals(List.of(), result.getMissingSkills());
+    }
+
+    @Test
+    public void testVectorsSpanningSeveralWords() {
+        SkillVector job = SkillVector.of(1, 64, 130);
+        SkillVector resume = SkillVector.of(64, 200);
+        assertEquals(1, job.intersectionCount(resume));
+        assertEquals(2, job.andNotCount(resume));
+        assertEquals(100.0 / 3, service.matchPercentage(resume, job), 0.001);
+
+        double[] weights = new double[131];
+        weights[1] = 1.0;
+        weights[64] = 2.0;
+        weights[130] = 4.0;
+        assertEquals(7.0, job.weightedSum(weights, 0.5), 0.001);
+        assertEquals(2.0, job.weightedIntersection(resume, weights, 0.5), 0.001);
+        // 200 is past the end of the weights
+        assertEquals(2.5, resume.weightedSum(weights, 0.5), 0.001);
+    }
+}
@@ -0,0 +1,88 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.event.JobPostingChangedEvent;
+import com.skillsync.skillsyncbackend.event.ResumeChangedEvent;
+import com.skillsync.skillsyncbackend.util.SkillVector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.skillsync.skillsyncbackend.service.TestFixtures.posting;
+import static com.skillsync.skillsyncbackend.service.TestFixtures.resume;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SkillWeightsTest {
+
+    private final SkillDictionary dictionary = new SkillDictionary();
+    private SkillWeights weights;
+    private SkillMatchingService service;
+
+    @BeforeEach
+    public void setup() {
+        weights = new SkillWeights(null, null, dictionary);
+        service = new SkillMatchingService(dictionary, weights);
+        weights.onJobPostingChanged(JobPostingChangedEvent.saved(posting(1L, "SQL", "Kubernetes")));
+        weights.onJobPostingChanged(JobPostingChangedEvent.saved(posting(2L, "SQL", "Java")));
+        weights.onJobPostingChanged(JobPostingChangedEvent.saved(posting(3L, "SQL", "Java")));
+        weights.onResumeChanged(new ResumeChangedEvent(resume(10L, "SQL")));
+    }
+
+    @Test
+    public void testRareSkillsWeighMoreThanCommonOnes() {
+        List<String> job = List.of("SQL", "Kubernetes");
+        SkillMatchingService.MatchResult common = service.matchSkills(List.of("sql"), job);
+        SkillMatchingService.MatchResult rare = service.matchSkills(List.of("kubernetes"), job);
+
+        assertEquals(50.0, common.getMatchPercentage(), 0.001);
+        assertEquals(50.0, rare.getMatchPercentage(), 0.001);
+        assertTrue(common.getWeightedScore() < 50.0, String.valueOf(common.getWeightedScore()));
+        assertEquals(100.0, common.getWeightedScore() + rare.getWeightedScore(), 0.001);
+        assertEquals(100.0, service.matchSkills(job, job).getWeightedScore(), 0.001);
+    }
+
+    @Test
+    public void testFrequenciesFollowUpdatesAndDeletes() {
+        double before = weights.current().weightOf(dictionary.lookup("Kubernetes"));
+        weights.onJobPostingChanged(JobPostingChangedEvent.saved(posting(2L, "Kubernetes")));
+        weights.onJobPostingChanged(JobPostingChangedEvent.saved(posting(3L, "Kubernetes")));
+        assertTrue(weights.current().weightOf(dictionary.lookup("Kubernetes")) < before);
+
+        weights.onJobPostingChanged(JobPostingChangedEvent.saved(posting(2L, "SQL", "Java")));
+        weights.onJobPostingChanged(JobPostingChangedEvent.saved(posting(3L, "SQL", "Java")));
+        assertEquals(before, weights.current().weightOf(dictionary.lookup("Kubernetes")), 0.001);
+
+        weights.onJobPostingChanged(JobPostingChangedEvent.deleted(2L));
+        weights.onJobPostingChanged(JobPostingChangedEvent.deleted(3L));
+        // Java is now in no document, like a skill never seen
+        assertEquals(weights.current().weightOf(dictionary.intern("Rust")),
+                weights.current().weightOf(dictionary.lookup("Java")), 0.001);
+    }
+
+    @Test
+    public void testPostingNormsAreKeptWithTheWeights() {
+        SkillVector stale = dictionary.encode(List.of("SQL"));
+        assertEquals(weights.current().norm(dictionary.encode(List.of("SQL", "Kubernetes"))),
+                weights.current().normOf(1L, stale), 0.001);
+
+        for (long id = 100; id < 400; id++) {
+            weights.onResumeChanged(new ResumeChangedEvent(resume(id, "Go")));
+        }
+        // too small a change to publish new weights, but the posting's norm follows it
+        SkillWeights.Weights before = weights.current();
+        weights.onJobPostingChanged(JobPostingChangedEvent.saved(posting(1L, "Java", "Go")));
+        SkillVector edited = dictionary.encode(List.of("Java", "Go"));
+        assertEquals(before.weightOf(dictionary.lookup("Go")), weights.current().weightOf(dictionary.lookup("Go")), 0.001);
+        assertEquals(weights.current().norm(edited), weights.current().normOf(1L, stale), 0.001);
+        // a posting the weights have not seen is summed
+        assertEquals(weights.current().norm(edited), weights.current().normOf(99L, edited), 0.001);
+    }
+
+    @Test
+    public void testWithoutACorpusWeightedScoreIsTheMatchPercentage() {
+        SkillMatchingService plain = new SkillMatchingService(dictionary, new SkillWeights(null, null, dictionary));
+        SkillMatchingService.MatchResult result = plain.matchSkills(List.of("Java"), List.of("Java", "SQL", "Go"));
+        assertEquals(result.getMatchPercentage(), result.getWeightedScore(), 0.001);
+    }
+}
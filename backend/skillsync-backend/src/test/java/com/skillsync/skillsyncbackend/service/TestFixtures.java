@@ -0,0 +1,29 @@
+package com.skillsync.skillsyncbackend.service;
+
+import com.skillsync.skillsyncbackend.model.JobPosting;
+import com.skillsync.skillsyncbackend.model.Resume;
+
+import java.util.List;
+
+/**
+ * Postings and resumes for the unit tests that only care about skills; everything else
+ * is the same placeholder in each.
+ */
+final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    static JobPosting posting(Long id, String... skills) {
+        JobPosting posting = new JobPosting("Title", "Company", "desc", List.of(skills), "http://", 1L);
+        posting.setId(id);
+        return posting;
+    }
+
+    /** A resume of the user with the same ID. */
+    static Resume resume(Long id, String... skills) {
+        Resume resume = new Resume("cv.pdf", "", List.of(skills), id, null, null, null);
+        resume.setId(id);
+        return resume;
+    }
+}
@@ -0,0 +1,160 @@
+package com.skillsync.skillsyncbackend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WriteQueueTest {
+
+    private final CountingTransactionManager transactions = new CountingTransactionManager();
+    private WriteQueue queue = new WriteQueue(transactions, 64, 1000, Duration.ofSeconds(5));
+    // a thread per caller, since each one blocks until its write has committed
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void shutdown() {
+        queue.shutdown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    public void testWritesQueuedDuringACommitShareTheNextOne() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> queue.execute(() -> {
+            started.countDown();
+            await(release);
+            return 0;
+        }), callers);
+        await(started);
+        List<CompletableFuture<Integer>> rest = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            int value = i;
+            rest.add(CompletableFuture.supplyAsync(() -> queue.execute(() -> value), callers));
+        }
+        awaitQueued(20);
+        release.countDown();
+
+        assertEquals(0, first.get(5, TimeUnit.SECONDS));
+        for (int i = 0; i < rest.size(); i++) {
+            assertEquals(i + 1, rest.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(21, queue.getWrites());
+        // the blocking write's own commit, then one for everything queued behind it
+        assertEquals(2, queue.getCommits());
+    }
+
+    @Test
+    public void testFailingWriteOnlyFailsItsOwnCaller() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> blocker = CompletableFuture.supplyAsync(() -> queue.execute(() -> {
+            started.countDown();
+            await(release);
+            return null;
+        }), callers);
+        await(started);
+        CompletableFuture<Integer> ok = CompletableFuture.supplyAsync(() -> queue.execute(() -> 1), callers);
+        awaitQueued(1);
+        CompletableFuture<Integer> failing = CompletableFuture.supplyAsync(() -> queue.execute(() -> {
+            throw new IllegalStateException("constraint violated");
+        }), callers);
+        awaitQueued(2);
+        release.countDown();
+
+        blocker.get(5, TimeUnit.SECONDS);
+        assertEquals(1, ok.get(5, TimeUnit.SECONDS));
+        Exception e = assertThrows(Exception.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertEquals("constraint violated", e.getCause().getMessage());
+        assertEquals(2, queue.getWrites());
+        // the group of both, then the failing write on its own
+        assertEquals(2, transactions.rollbacks.get());
+    }
+
+    @Test
+    public void testCallersGetAnErrorInsteadOfWaitingForever() throws Exception {
+        queue.shutdown();
+        queue = new WriteQueue(transactions, 64, 1, Duration.ofMillis(300));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> stuck = CompletableFuture.supplyAsync(() -> queue.execute(() -> {
+            started.countDown();
+            await(release);
+            return null;
+        }), callers);
+        await(started);
+        CompletableFuture<Integer> waiting = CompletableFuture.supplyAsync(() -> queue.execute(() -> 1), callers);
+        awaitQueued(1);
+
+        // no room left in the queue
+        RejectedExecutionException full = assertThrows(RejectedExecutionException.class, () -> queue.execute(() -> 2));
+        assertEquals("Write queue is full", full.getMessage());
+        // queued behind the stuck write until the timeout, then taken off the queue again
+        Exception notStarted = assertThrows(Exception.class, () -> waiting.get(5, TimeUnit.SECONDS));
+        assertTrue(notStarted.getCause().getMessage().contains("not started"), notStarted.getCause().getMessage());
+        assertEquals(0, queue.getQueued());
+        Exception notCommitted = assertThrows(Exception.class, () -> stuck.get(5, TimeUnit.SECONDS));
+        assertTrue(notCommitted.getCause().getMessage().contains("may still commit"), notCommitted.getCause().getMessage());
+        release.countDown();
+
+        queue.shutdown();
+        RejectedExecutionException shutDown = assertThrows(RejectedExecutionException.class, () -> queue.execute(() -> 3));
+        assertEquals("Write queue is shut down", shutDown.getMessage());
+    }
+
+    // waits for callers to have queued their writes; they do so on other threads
+    private void awaitQueued(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queue.getQueued() < count) {
+            assertTrue(System.nanoTime() < deadline, "queued: " + queue.getQueued());
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class CountingTransactionManager extends AbstractPlatformTransactionManager {
+        private final AtomicInteger rollbacks = new AtomicInteger();
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            rollbacks.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.skillsync.skillsyncbackend.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SkillMatcherTest {
+
+    private SkillMatcher matcher;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        String dictionary = String.join("\n",
+                "# comment",
+                "Java",
+                "JavaScript|js",
+                "Spring",
+                "Spring Boot|springboot",
+                "C++|cpp",
+                "C#",
+                "Node.js|nodejs",
+                "");
+        matcher = SkillMatcher.load(new ByteArrayInputStream(dictionary.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testFindsSkillsCaseInsensitivelyInOrderOfAppearance() {
+        Set<String> found = matcher.findAll("Worked with SPRING BOOT and java; some JS and nodejs.");
+        assertEquals(List.of("Spring", "Spring Boot", "Java", "JavaScript", "Node.js"), List.copyOf(found));
+    }
+
+    @Test
+    public void testOnlyMatchesOnWordBoundaries() {
+        assertTrue(matcher.findAll("javascripting, Javanese, springs").isEmpty());
+        assertEquals(List.of("JavaScript"), List.copyOf(matcher.findAll("javascript")));
+        assertEquals(List.of("C++", "C#"), List.copyOf(matcher.findAll("Languages: C++, C#.")));
+        assertTrue(matcher.findAll("C+++ and C##").isEmpty());
+    }
+
+    @Test
+    public void testCollapsesWhitespaceInsideMultiWordSkills() {
+        assertEquals(List.of("Spring", "Spring Boot"), List.copyOf(matcher.findAll("spring\n\t  boot")));
+    }
+
+    @Test
+    public void testChunkedScanMatchesAcrossChunkBoundaries() {
+        String text = "Experience: Spring Boot, Java and C++";
+        SkillMatcher.Scanner scanner = matcher.newScanner();
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i += 3) {
+            scanner.feed(chars, i, Math.min(3, chars.length - i));
+        }
+        assertEquals(matcher.findAll(text), scanner.finish());
+    }
+
+    @Test
+    public void testBundledDictionaryLoads() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/skills.txt")) {
+            SkillMatcher bundled = SkillMatcher.load(in);
+            assertTrue(bundled.size() > 300);
+            assertEquals(List.of("Kubernetes", "REST API", "PostgreSQL"),
+                    List.copyOf(bundled.findAll("Deployed to k8s, exposed a RESTful API backed by Postgres.")));
+        }
+    }
+}
@@ -1,9 +1,31 @@
 const BASE_URL = 'http://localhost:8081'; // Backend runs on 8081 locally
 
+// Avatar paths in profiles are relative to the backend
+export function avatarSrc(avatarUrl?: string | null) {
+  return avatarUrl ? `${BASE_URL}${avatarUrl}` : '';
+}
+
 function authHeader(token?: string): Record<string, string> {
   return token ? { 'Authorization': `Bearer ${token}` } : {};
 }
 
+// Listings come a page at a time, with the total in X-Total-Count; this fetches every page
+const PAGE_SIZE = 100;
+
+async function fetchAllPages(url: string, token: string, errorMessage: string) {
+  const items: any[] = [];
+  for (let page = 0; ; page++) {
+    const response = await fetch(`${url}?page=${page}&size=${PAGE_SIZE}`, {
+      headers: { 'Authorization': `Bearer ${token}` }
+    });
+    if (!response.ok) throw new Error(errorMessage);
+    const batch = await response.json();
+    items.push(...batch);
+    const total = Number(response.headers.get('X-Total-Count') ?? items.length);
+    if (batch.length < PAGE_SIZE || items.length >= total) return items;
+  }
+}
+
 export async function applyToJob(token: string, jobId: number) {
   const response = await fetch(`${BASE_URL}/api/applications/apply/${jobId}`, {
     method: 'POST',
@@ -14,11 +36,7 @@ export async function applyToJob(token: string, jobId: number) {
 }
 
 export async function getApplicationsForJob(token: string, jobId: number) {
-  const response = await fetch(`${BASE_URL}/api/applications/job/${jobId}`, {
-    headers: { 'Authorization': `Bearer ${token}` }
-  });
-  if (!response.ok) throw new Error('Failed to fetch job applications');
-  return response.json();
+  return fetchAllPages(`${BASE_URL}/api/applications/job/${jobId}`, token, 'Failed to fetch job applications');
 }
 
 export async function getResumeById(token: string, resumeId: number) {
@@ -49,11 +67,7 @@ export async function rateResume(token: string, resumeId: number, rating: number
 }
 
 export async function getMyApplications(token: string) {
-  const response = await fetch(`${BASE_URL}/api/applications`, {
-    headers: { 'Authorization': `Bearer ${token}` }
-  });
-  if (!response.ok) throw new Error('Failed to fetch applications');
-  return response.json();
+  return fetchAllPages(`${BASE_URL}/api/applications`, token, 'Failed to fetch applications');
 }
 
 export async function deleteApplication(token: string, applicationId: number) {
@@ -73,7 +87,7 @@ export interface UserProfile {
   phone?: string;
   bio?: string;
   linkedin?: string;
-  avatarDataUrl?: string; // optional base64 data URL for avatar preview/storage
+  avatarUrl?: string | null; // path of the avatar image, served by the backend
   github?: string;
   fullName?: string;
   jobTitle?: string;
@@ -147,7 +161,30 @@ export async function loginUser(username: string, password: string) {
   return response.json();
 }
 
-export async function uploadResume(file: File): Promise<{ id: number; skills: string[] }> {
+export interface ResumeIngestion {
+  id: string;
+  status: 'QUEUED' | 'PROCESSING' | 'COMPLETED' | 'FAILED';
+  filename: string;
+  resumeId: number | null;
+  skills: string[] | null;
+  error: string | null;
+  stageMillis: Record<string, number>;
+}
+
+export async function getResumeIngestion(ingestionId: string): Promise<ResumeIngestion> {
+  const token = localStorage.getItem('token');
+  const headers: Record<string, string> = {};
+  if (token) headers['Authorization'] = `Bearer ${token}`;
+
+  const response = await fetch(`${BASE_URL}/api/resumes/ingestions/${ingestionId}`, { headers });
+  if (!response.ok) {
+    throw new Error(`HTTP error! status: ${response.status}`);
+  }
+  return await response.json();
+}
+
+// Uploads are processed in the background; poll until the resume has been parsed and saved.
+export async function uploadResume(file: File, pollIntervalMs = 1000): Promise<{ id: number; skills: string[] }> {
   const formData = new FormData();
   formData.append('file', file);
 
@@ -161,10 +198,24 @@ export async function uploadResume(file: File): Promise<{ id: number; skills: st
     body: formData,
   });
 
+  if (response.status === 429) {
+    throw new Error('The server is busy processing other resumes. Please try again in a few seconds.');
+  }
   if (!response.ok) {
     throw new Error(`HTTP error! status: ${response.status}`);
   }
-  return await response.json();
+  const { ingestionId } = await response.json();
+
+  while (true) {
+    await new Promise((resolve) => setTimeout(resolve, pollIntervalMs));
+    const ingestion = await getResumeIngestion(ingestionId);
+    if (ingestion.status === 'COMPLETED') {
+      return { id: ingestion.resumeId as number, skills: ingestion.skills || [] };
+    }
+    if (ingestion.status === 'FAILED') {
+      throw new Error(ingestion.error || 'Failed to process resume');
+    }
+  }
 }
 
 export async function getMyResume(token: string): Promise<{ id: number; filename: string; content: string; skills: string[]; userId: number }> {
@@ -175,7 +226,24 @@ export async function getMyResume(token: string): Promise<{ id: number; filename
   return response.json();
 }
 
-export async function fetchJobPostings(filters?: { keyword?: string; location?: string; jobType?: string; minSalary?: number }): Promise<any[]> {
+export interface FacetValue {
+  value: string;
+  count: number;
+}
+
+export interface JobFacets {
+  location: FacetValue[]; // most frequent first
+  jobType: FacetValue[];
+  salary: Array<{ min: number; max: number | null; count: number }>; // every range, in order
+}
+
+export interface JobPage {
+  content: any[];
+  nextCursor: string | null; // pass back as `cursor` to fetch the following page
+  facets?: JobFacets; // only when requested
+}
+
+export async function fetchJobPostings(filters?: { keyword?: string; location?: string; jobType?: string; minSalary?: number }, cursor?: string | null, limit = 20, facets = false): Promise<JobPage> {
   const params = new URLSearchParams();
   if (filters) {
     if (filters.keyword) params.append('keyword', filters.keyword);
@@ -183,7 +251,10 @@ export async function fetchJobPostings(filters?: { keyword?: string; location?:
     if (filters.jobType) params.append('jobType', filters.jobType);
     if (filters.minSalary != null) params.append('minSalary', String(filters.minSalary));
   }
-  const url = `${BASE_URL}/api/jobs${params.toString() ? `?${params.toString()}` : ''}`;
+  if (cursor) params.append('cursor', cursor);
+  params.append('limit', String(limit));
+  if (facets) params.append('facets', 'true');
+  const url = `${BASE_URL}/api/jobs?${params.toString()}`;
 
   const token = localStorage.getItem('token');
   const headers: Record<string, string> = {};
@@ -198,8 +269,21 @@ export async function fetchJobPostings(filters?: { keyword?: string; location?:
   return await response.json();
 }
 
-export async function fetchMockJobPostings(): Promise<any[]> {
-  const response = await fetch(`${BASE_URL}/api/jobs/fetch`);
+// Starts a crawl of the configured job boards; resolves to false if one is already running.
+export async function startJobCrawl(token: string): Promise<boolean> {
+  const response = await fetch(`${BASE_URL}/api/jobs/fetch`, {
+    method: 'POST',
+    headers: authHeader(token)
+  });
+  if (response.status === 409) return false;
+  if (!response.ok) {
+    throw new Error(`HTTP error! status: ${response.status}`);
+  }
+  return true;
+}
+
+export async function fetchJobCrawlStatus(token: string): Promise<any> {
+  const response = await fetch(`${BASE_URL}/api/jobs/fetch`, { headers: authHeader(token) });
   if (!response.ok) {
     throw new Error(`HTTP error! status: ${response.status}`);
   }
@@ -214,6 +298,14 @@ export async function matchSkills(jobId: number, resumeId: number): Promise<any>
   return await response.json();
 }
 
+export async function getRecommendations(token: string, resumeId: number, limit = 10): Promise<Array<{ job: any; matchPercentage: number; weightedScore: number; missingSkills: string[] }>> {
+  const response = await fetch(`${BASE_URL}/api/jobs/recommendations/${resumeId}?limit=${limit}`, {
+    headers: { 'Authorization': `Bearer ${token}` }
+  });
+  if (!response.ok) throw new Error('Failed to fetch recommendations');
+  return response.json();
+}
+
 export async function toggleFavorite(token: string, jobId: number) {
   const response = await fetch(`${BASE_URL}/api/favorites/toggle/${jobId}`, {
     method: 'POST',
@@ -224,11 +316,7 @@ export async function toggleFavorite(token: string, jobId: number) {
 }
 
 export async function getFavorites(token: string) {
-  const response = await fetch(`${BASE_URL}/api/favorites`, {
-    headers: { 'Authorization': `Bearer ${token}` }
-  });
-  if (!response.ok) throw new Error('Failed to fetch favorites');
-  return response.json();
+  return fetchAllPages(`${BASE_URL}/api/favorites`, token, 'Failed to fetch favorites');
 }
 
 // Admin APIs